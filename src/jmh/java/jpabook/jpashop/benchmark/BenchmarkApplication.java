@@ -0,0 +1,103 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemCatalog;
+import jpabook.jpashop.service.OrderSummaryService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * - 메모리 H2 DB를 사용하고 SQL 로그(show_sql, p6spy)는 끈다.
+ * - 커맨드라인 인자로 넘기므로 application.yml 설정보다 우선한다.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String dbName, WebApplicationType webType, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.org.hibernate.sql=warn",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--decorator.datasource.p6spy.enable-logging=false",
+                "--spring.main.banner-mode=off"));
+        args.addAll(Arrays.asList(extraArgs));
+
+        return new SpringApplicationBuilder(JpashopApplication.class)
+                .web(webType)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * 주문 orders 건, 주문당 상품 itemsPerOrder 건을 저장한다.
+     * - 회원 100명, 상품 100개를 돌아가면서 사용한다.
+     * - OrderService, ItemService 를 거치지 않으므로 마지막에 주문 요약(order_summary)과 상품 카탈로그를 다시 만든다.
+     */
+    static void seed(ConfigurableApplicationContext context, int orders, int itemsPerOrder) {
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Long> memberIds = new ArrayList<>();
+        List<Long> itemIds = new ArrayList<>();
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 100; i++) {
+                Member member = new Member();
+                member.setUsername("bench-member-" + i);
+                member.setAddress(new Address("서울", "street-" + i, "12345"));
+                em.persist(member);
+                memberIds.add(member.getId());
+
+                Book book = new Book();
+                book.setName("bench-book-" + i);
+                book.setPrice(10000 + i);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                itemIds.add(book.getId());
+            }
+        });
+
+        int batch = 100;
+        for (int from = 0; from < orders; from += batch) {
+            int to = Math.min(from + batch, orders);
+            int start = from;
+            tx.executeWithoutResult(status -> {
+                for (int i = start; i < to; i++) {
+                    Member member = em.find(Member.class, memberIds.get(i % memberIds.size()));
+
+                    OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+                    for (int j = 0; j < itemsPerOrder; j++) {
+                        Book book = em.find(Book.class, itemIds.get((i + j) % itemIds.size()));
+                        orderItems[j] = OrderItem.createOrderItem(book, book.getPrice(), 1 + j % 3);
+                    }
+
+                    Delivery delivery = new Delivery();
+                    delivery.setAddress(member.getAddress());
+                    em.persist(Order.createOrder(member, delivery, orderItems));
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+
+        context.getBean(OrderSummaryService.class).rebuild(); // 직접 저장한 주문의 주문 요약 생성
+        context.getBean(ItemCatalog.class).rebuild(); // 직접 저장한 상품의 카탈로그 생성
+    }
+}
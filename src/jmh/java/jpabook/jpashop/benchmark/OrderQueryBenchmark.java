@@ -0,0 +1,123 @@
+package jpabook.jpashop.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.order.query.OrderFlatAssembler;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.query.OrderDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 주문 조회 전략(V3 ~ V6) 비교
+ * - 조회 + DTO 변환 + JSON 직렬화(Jackson)까지 한 번의 API 응답 비용으로 측정한다.
+ * - 측정 모드/프로파일러는 build.gradle 의 jmh 블록 참고(처리량, 지연시간 백분위, gc 할당률)
+ * - 데이터 양 변경: java -jar build/libs/jpashop-0.0.1-SNAPSHOT-jmh.jar -p orders=10000 -p itemsPerOrder=5
+ */
+@State(Scope.Benchmark)
+public class OrderQueryBenchmark {
+
+    @Param({"100", "1000"})
+    int orders;
+
+    @Param({"2", "10"})
+    int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private OrderQueryRepository orderQueryRepository;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("orderQuery", WebApplicationType.NONE);
+        BenchmarkApplication.seed(context, orders, itemsPerOrder);
+
+        orderRepository = context.getBean(OrderRepository.class);
+        orderQueryRepository = context.getBean(OrderQueryRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * V3. 엔티티 조회 + 컬렉션 fetch join(1 Query, row 중복)
+     */
+    @Benchmark
+    public byte[] v3_fetchJoin() {
+        return inReadOnlyTx(() -> toOrderDtos(orderRepository.findAllWithItem()));
+    }
+
+    /**
+     * V3-1. ToOne fetch join + 컬렉션 default_batch_fetch_size(IN 쿼리)
+     */
+    @Benchmark
+    public byte[] v3_1_batchFetch() {
+        return inReadOnlyTx(() -> toOrderDtos(orderRepository.findAllWithMemberDelivery(0, orders)));
+    }
+
+    /**
+     * V4. DTO 직접 조회, 컬렉션 N 번 조회(1 + N Query)
+     */
+    @Benchmark
+    public byte[] v4_dtoNQueries() {
+        return inReadOnlyTx(() -> orderQueryRepository.findOrderQueryDtos());
+    }
+
+    /**
+     * V5. DTO 직접 조회, 컬렉션 IN 쿼리(1 + 1 Query)
+     */
+    @Benchmark
+    public byte[] v5_dtoInQuery() {
+        return inReadOnlyTx(() -> orderQueryRepository.findAllByDto_optimization());
+    }
+
+    /**
+     * V6. 플랫 데이터 조회(1 Query) + 애플리케이션에서 주문 단위로 묶기
+     */
+    @Benchmark
+    public byte[] v6_flat() {
+        return inReadOnlyTx(() -> OrderFlatAssembler.assemble(
+                orderQueryRepository.findAllByDto_flat().iterator(), Integer.MAX_VALUE));
+    }
+
+    private static List<OrderDto> toOrderDtos(List<Order> orders) {
+        return orders.stream().map(OrderDto::new).collect(toList());
+    }
+
+    /**
+     * 조회와 DTO 변환은 트랜잭션(영속성 컨텍스트) 안에서, 직렬화 결과를 반환해서 JIT 최적화로 제거되지 않게 한다.
+     */
+    private byte[] inReadOnlyTx(Supplier<?> query) {
+        return readOnlyTx.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(query.get());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
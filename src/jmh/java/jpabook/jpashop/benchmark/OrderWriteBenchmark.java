@@ -0,0 +1,150 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 저장(쓰기 경로) 비교
+ * - batchSize=0 : JDBC 배치 OFF, 주문 1건마다 delivery, orders, order_item INSERT 를 따로 실행
+ * - batchSize=100 : JDBC 배치 ON(application.yml 기본값), 테이블별 INSERT 를 묶어서 실행
+ * - idOptimizer=none : 엔티티마다 시퀀스 호출(allocationSize=1 과 같음), 배치 전(before) 상태
+ *   allocationSize(IdGeneration.ALLOCATION_SIZE)는 애노테이션 상수라 바꿀 수 없으므로
+ *   hibernate.id.optimizer.pooled.preferred=none 으로 옵티마이저를 끈다.(하이버네이트가 증가값을 1로 맞춘다)
+ * - idOptimizer=pooled-lo : IdGeneration.ALLOCATION_SIZE 단위로 할당(application.yml 기본값), id 조회는 블록당 1번
+ * - 주문 1건당 JDBC 실행 수(시퀀스 호출 포함)와 엔티티 INSERT 수는 보조 카운터(@AuxCounters)로 결과에 함께 나온다.
+ *   카운터도 처리량(ops/ms)으로 나오므로 주문 처리량(saveOrders 점수)으로 나누면 주문당 횟수다.
+ *   (saveOrders:jdbcStatements / saveOrders = 주문당 JDBC 실행 수, sample 모드 결과에는 카운터가 없음)
+ */
+@State(Scope.Benchmark)
+public class OrderWriteBenchmark {
+
+    private static final int ORDERS_PER_INVOCATION = 500;
+
+    @Param({"0", "100"})
+    int batchSize;
+
+    @Param({"none", "pooled-lo"})
+    String idOptimizer;
+
+    @Param({"2", "10"})
+    int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private OrderRepository orderRepository;
+    private TransactionTemplate tx;
+    private Statistics statistics;
+
+    private final List<Long> memberIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+
+    /**
+     * 보조 카운터 - 반복(iteration)마다 0 부터 센다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Statements {
+
+        public long jdbcStatements; // 시퀀스 호출 포함
+        public long entityInserts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            jdbcStatements = 0;
+            entityInserts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("orderWrite" + batchSize + idOptimizer, WebApplicationType.NONE,
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=" + idOptimizer,
+                "--spring.jpa.properties.hibernate.generate_statistics=true");
+
+        em = context.getBean(EntityManager.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 100; i++) {
+                Member member = new Member();
+                member.setUsername("write-member-" + i);
+                member.setAddress(new Address("서울", "street-" + i, "12345"));
+                em.persist(member);
+                memberIds.add(member.getId());
+
+                Book book = new Book();
+                book.setName("write-book-" + i);
+                book.setPrice(10000 + i);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                itemIds.add(book.getId());
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 주문 ORDERS_PER_INVOCATION 건을 한 트랜잭션에서 저장
+     * - 회원/상품은 프록시(getReference)로 연결한다. 연관관계 편의 메서드와 재고 차감이 프록시를 초기화하지만
+     *   default_batch_fetch_size 로 한 번에 조회된다.
+     * - 주문처럼 재고를 차감하므로 상품 UPDATE 도 포함된다.(벤치마크는 단일 스레드라 상품 락은 잡지 않음)
+     */
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_INVOCATION)
+    public void saveOrders(Statements statements) {
+        long prepared = statistics.getPrepareStatementCount();
+        long inserted = statistics.getEntityInsertCount();
+        tx.executeWithoutResult(status -> {
+            List<Order> orders = new ArrayList<>(ORDERS_PER_INVOCATION);
+            for (int i = 0; i < ORDERS_PER_INVOCATION; i++) {
+                Member member = em.getReference(Member.class, memberIds.get(i % memberIds.size()));
+
+                OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+                for (int j = 0; j < itemsPerOrder; j++) {
+                    Item item = em.getReference(Item.class, itemIds.get((i + j) % itemIds.size()));
+                    orderItems[j] = OrderItem.createOrderItem(item, 10000, 1);
+                }
+
+                Delivery delivery = new Delivery();
+                delivery.setAddress(new Address("서울", "street-" + i, "12345"));
+                orders.add(Order.createOrder(member, delivery, orderItems));
+            }
+            orderRepository.saveAll(orders);
+        });
+        statements.jdbcStatements += statistics.getPrepareStatementCount() - prepared;
+        statements.entityInserts += statistics.getEntityInsertCount() - inserted;
+    }
+}
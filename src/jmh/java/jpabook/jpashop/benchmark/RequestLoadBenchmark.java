@@ -0,0 +1,106 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import jpabook.jpashop.repository.member.query.MemberQueryRepository;
+import jpabook.jpashop.service.ItemCatalog;
+import jpabook.jpashop.service.ItemView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 처리 스레드 모드 비교(플랫폼 스레드 vs 가상 스레드) - 내장 Tomcat 에 HTTP 로 부하를 준다.
+ * - mode=platform : Tomcat 스레드 풀(server.tomcat.threads.max), 커넥션 풀 기본 설정
+ * - mode=virtual : spring.threads.virtual.enabled=true, 커넥션 풀/JDBC 동시 사용 제한은 VirtualThreadJdbcConfig
+ * - 동시 사용자 수는 JMH 스레드 수(@Threads, -t 옵션)로 조절한다. 예) -t 512 -p mode=virtual
+ * - GET /api/v5/orders: 조회 2번(주문 + 주문상품 IN 쿼리), POST /order: 재고 차감 UPDATE + INSERT
+ */
+@State(Scope.Benchmark)
+@Threads(256)
+public class RequestLoadBenchmark {
+
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 2;
+
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"50"})
+    int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long[] memberIds;
+    private long[] itemIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("requestLoad" + mode, WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                "--spring.jpa.open-in-view=false");
+        BenchmarkApplication.seed(context, ORDERS, ITEMS_PER_ORDER);
+        memberIds = context.getBean(MemberQueryRepository.class).findMembersAfterId(null, 1000).stream()
+                .mapToLong(MemberQueryDto::getMemberId).toArray();
+        itemIds = context.getBean(ItemCatalog.class).items().stream()
+                .mapToLong(ItemView::getId).toArray();
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getV5Orders() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v5/orders")).GET().build();
+        return send(request);
+    }
+
+    /**
+     * 주문 폼 전송(성공하면 302 redirect:/orders), 회원/상품은 BenchmarkApplication.seed 가 만든 데이터 중 임의로 선택
+     */
+    @Benchmark
+    public int postOrder() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String form = "memberId=" + memberIds[random.nextInt(memberIds.length)]
+                + "&itemId=" + itemIds[random.nextInt(itemIds.length)]
+                + "&count=1";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/order"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return send(request);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " " + request.uri());
+        }
+        return response.body().length;
+    }
+}
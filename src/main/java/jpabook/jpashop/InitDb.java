@@ -4,6 +4,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderSummaryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,11 +14,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class InitDb {
 
     private final InitService initService;
+    private final OrderSummaryService orderSummaryService;
 
     @PostConstruct
     public void init() {
-        initService.dbInit1();
-        initService.dbInit2();
+        initService.dbInit();
+        orderSummaryService.rebuild(); // 초기 데이터는 OrderService 를 거치지 않으므로 주문 요약을 다시 만든다.
     }
 
 
@@ -28,6 +30,14 @@ public class InitDb {
 
         private final EntityManager em;
 
+        /**
+         * 한 트랜잭션에서 저장해서 flush 시점에 테이블별 INSERT 가 JDBC 배치로 묶이게 한다.
+         */
+        public void dbInit() {
+            dbInit1();
+            dbInit2();
+        }
+
         public void dbInit1() {
             Member member = createMember("userA", "서울", "1", "1111");
             em.persist(member);
@@ -0,0 +1,44 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.exception.DuplicateMemberException;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * API 예외 응답
+ */
+@RestControllerAdvice(basePackages = "jpabook.jpashop.api")
+public class ApiExceptionAdvice {
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(DuplicateMemberException.class)
+    public ErrorResult duplicateMember(DuplicateMemberException e) {
+        return new ErrorResult("DUPLICATE_MEMBER", e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(NotEnoughStockException.class)
+    public ErrorResult notEnoughStock(NotEnoughStockException e) {
+        return new ErrorResult("NOT_ENOUGH_STOCK", e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(TimeoutException.class)
+    public ErrorResult deadlineExceeded(TimeoutException e) {
+        return new ErrorResult("DEADLINE_EXCEEDED", e.getMessage());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ErrorResult {
+        private String code;
+        private String message;
+    }
+}
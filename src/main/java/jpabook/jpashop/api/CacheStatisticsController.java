@@ -0,0 +1,77 @@
+package jpabook.jpashop.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 2차 캐시 통계 조회
+ * - hit/miss/put: 하이버네이트 Statistics(hibernate.generate_statistics)
+ * - eviction: JCache 통계 MXBean(application.conf 의 monitoring.statistics)
+ */
+@RestController
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+
+    private final EntityManagerFactory emf;
+
+    @GetMapping("/api/cache/statistics")
+    public List<CacheRegionDto> cacheStatistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> evictions = findEvictionCounts();
+
+        List<CacheRegionDto> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            result.add(new CacheRegionDto(region,
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount(),
+                    evictions.getOrDefault(region, 0L),
+                    regionStatistics.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    private Map<String, Long> findEvictionCounts() {
+        Map<String, Long> evictions = new HashMap<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Object count = server.getAttribute(name, "CacheEvictions");
+                if (count instanceof Number number) {
+                    evictions.merge(name.getKeyProperty("Cache"), number.longValue(), Long::sum);
+                }
+            }
+        } catch (JMException e) {
+            // 통계 MXBean 이 없으면 eviction 은 0 으로 표시
+        }
+        return evictions;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CacheRegionDto {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private long evictionCount;
+        private long elementCountInMemory; // 캐시 구현체가 지원하지 않으면 음수
+    }
+}
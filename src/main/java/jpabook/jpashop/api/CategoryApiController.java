@@ -0,0 +1,104 @@
+package jpabook.jpashop.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jpabook.jpashop.repository.CategoryItemQueryDto;
+import jpabook.jpashop.repository.CategoryQueryDto;
+import jpabook.jpashop.service.CategoryNode;
+import jpabook.jpashop.service.CategoryService;
+import jpabook.jpashop.service.CategoryTree;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 카테고리 API
+ * - 메뉴(전체 트리)는 DB 조회 없이 메모리 트리(CategoryTree)에서 내려준다.
+ * - 서브트리/조상은 클로저 테이블로 계층 깊이와 상관없이 쿼리 한번으로 조회한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final CategoryService categoryService;
+    private final CategoryTree categoryTree;
+
+    @GetMapping("/api/categories")
+    public List<CategoryNode> categories() {
+        return categoryTree.roots();
+    }
+
+    @GetMapping("/api/categories/{id}/subtree")
+    public List<CategoryQueryDto> subtree(@PathVariable("id") Long id) {
+        return categoryService.findSubtree(id);
+    }
+
+    @GetMapping("/api/categories/{id}/ancestors")
+    public List<CategoryQueryDto> ancestors(@PathVariable("id") Long id) {
+        return categoryService.findAncestors(id);
+    }
+
+    /**
+     * 카테고리(하위 카테고리 포함) 상품 목록 - 상품 id 키셋 페이징
+     * - 다음 페이지: next 값을 lastItemId 로 넘긴다.
+     */
+    @GetMapping("/api/categories/{id}/items")
+    public ItemSliceResult items(@PathVariable("id") Long id,
+                                 @RequestParam(value = "lastItemId", required = false) Long lastItemId,
+                                 @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<CategoryItemQueryDto> items = categoryService.findItems(id, lastItemId, pageSize);
+
+        Long next = items.size() == pageSize ? items.get(items.size() - 1).getId() : null;
+        return new ItemSliceResult(items.size(), items, next);
+    }
+
+    @PutMapping("/api/categories/{id}/items/{itemId}")
+    public void addItem(@PathVariable("id") Long id, @PathVariable("itemId") Long itemId) {
+        categoryService.addItem(id, itemId);
+    }
+
+    @DeleteMapping("/api/categories/{id}/items/{itemId}")
+    public void removeItem(@PathVariable("id") Long id, @PathVariable("itemId") Long itemId) {
+        categoryService.removeItem(id, itemId);
+    }
+
+    @PostMapping("/api/categories")
+    public CreateCategoryResponse saveCategory(@RequestBody @Valid CreateCategoryRequest request) {
+        Long id = categoryService.addCategory(request.getName(), request.getParentId());
+        return new CreateCategoryResponse(id);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ItemSliceResult {
+        private int size;
+        private List<CategoryItemQueryDto> data;
+        private Long next; // 다음 페이지의 lastItemId, 마지막 페이지면 null
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+        @NotEmpty
+        private String name;
+        private Long parentId; // 루트 카테고리면 null
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+        private Long id;
+    }
+}
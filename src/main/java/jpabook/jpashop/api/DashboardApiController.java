@@ -0,0 +1,36 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.service.query.DashboardDto;
+import jpabook.jpashop.service.query.DashboardQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 여러 조회를 한번에 내려주는 API - 조회는 동시에 실행하고 전체 마감 시간을 넘기면 503
+ */
+@RestController
+@RequiredArgsConstructor
+public class DashboardApiController {
+
+    private static final long MAX_DEADLINE_MILLIS = 10_000;
+
+    private final DashboardQueryService dashboardQueryService;
+
+    /**
+     * 대시보드(최근 주문 + 배송 상태별 건수 + 재고 부족 상품)
+     */
+    @GetMapping("/api/dashboard")
+    public DashboardDto dashboard(@RequestParam(value = "deadlineMillis", defaultValue = "2000") long deadlineMillis)
+            throws TimeoutException, InterruptedException {
+        return dashboardQueryService.findDashboard(deadline(deadlineMillis));
+    }
+
+    private static Duration deadline(long deadlineMillis) {
+        return Duration.ofMillis(Math.max(1, Math.min(deadlineMillis, MAX_DEADLINE_MILLIS)));
+    }
+}
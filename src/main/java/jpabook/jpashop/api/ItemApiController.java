@@ -0,0 +1,32 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.repository.item.query.ItemQueryDto;
+import jpabook.jpashop.repository.item.query.ItemQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private static final int MAX_SEARCH_SIZE = 20;
+
+    private final ItemQueryRepository itemQueryRepository;
+
+    /**
+     * 상품명 자동완성: 이름이 prefix 로 시작하는 상품(id, 이름, 가격, 재고)을 이름 순으로 최대 limit 건
+     * - 상품명 인덱스(idx_item_name) 범위 검색이므로 상품 수와 상관없이 limit 건만 읽는다.
+     */
+    @GetMapping("/api/items/search")
+    public List<ItemQueryDto> searchItems(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return itemQueryRepository.findByNamePrefix(prefix.trim(), Math.max(1, Math.min(limit, MAX_SEARCH_SIZE)));
+    }
+}
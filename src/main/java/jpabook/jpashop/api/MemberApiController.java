@@ -1,14 +1,31 @@
 package jpabook.jpashop.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import jpabook.jpashop.repository.member.query.MemberQueryRepository;
+import jpabook.jpashop.service.MemberImportResult;
+import jpabook.jpashop.service.MemberImportRow;
+import jpabook.jpashop.service.MemberImportService;
 import jpabook.jpashop.service.MemberService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,7 +33,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MemberApiController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_SIZE = 20;
+
     private final MemberService memberService;
+    private final MemberQueryRepository memberQueryRepository;
+    private final MemberImportService memberImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 조회 V1: 응답 값으로 엔티티를 직접 외부에 노출한다.
@@ -36,14 +59,45 @@ public class MemberApiController {
         return memberService.findMembers();
     }
 
+    /**
+     * 조회 V2: 응답 값으로 엔티티가 아닌 별도의 DTO를 반환한다.
+     * - 엔티티 전체를 조회하지 않고 필요한 컬럼(id, 이름)만 DTO 로 조회한다.(MemberQueryRepository)
+     * - member_id 커서 페이징: 다음 페이지는 응답의 next 를 lastMemberId 로 넘긴다.
+     * - 전체 count 쿼리는 실행하지 않고, size 는 이번 페이지의 건수다.
+     */
     @GetMapping("/api/v2/members")
-    public Result membersV2() {
-        List<Member> members = memberService.findMembers();
+    public SliceResult<List<MemberDto>> membersV2(
+            @RequestParam(value = "lastMemberId", required = false) Long lastMemberId,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // pageSize + 1 건을 조회해서 다음 페이지 존재 여부를 판단
+        List<MemberQueryDto> members = memberQueryRepository.findMembersAfterId(lastMemberId, pageSize + 1);
+
+        Long next = null;
+        if (members.size() > pageSize) {
+            members = members.subList(0, pageSize);
+            next = members.get(pageSize - 1).getMemberId();
+        }
+
         List<MemberDto> collect = members.stream()
-                .map(m -> new MemberDto(m.getUsername()))
+                .map(m -> new MemberDto(m.getName()))
                 .collect(Collectors.toList());
 
-        return new Result<>(collect.size(), collect);
+        return new SliceResult<>(collect.size(), collect, next);
+    }
+
+    /**
+     * 회원 이름 자동완성: 이름이 prefix 로 시작하는 회원(id, 이름)을 이름 순으로 최대 limit 명
+     * - username 인덱스 범위 검색이므로 회원 수와 상관없이 limit 건만 읽는다.
+     */
+    @GetMapping("/api/v2/members/search")
+    public List<MemberQueryDto> searchMembers(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                              @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return memberQueryRepository.findByUsernamePrefix(prefix.trim(), Math.max(1, Math.min(limit, MAX_SEARCH_SIZE)));
     }
 
     @Data
@@ -54,9 +108,10 @@ public class MemberApiController {
 
     @Data
     @AllArgsConstructor
-    static class Result<T> {
+    static class SliceResult<T> {
         private int size;
         private T data;
+        private Long next; // 다음 페이지의 lastMemberId, 마지막 페이지면 null
     }
 
     /**
@@ -86,6 +141,102 @@ public class MemberApiController {
         return new CreateMemberResponse(id);
     }
 
+    /**
+     * 회원 일괄 등록(CSV)
+     * - 첫 줄은 헤더(name,city,street,zipcode)
+     * - 값은 큰따옴표로 감쌀 수 있다.(값 안의 쉼표, "" 는 큰따옴표 하나) 줄바꿈이 들어간 값은 지원하지 않는다.
+     * - 요청 본문을 한 줄씩 읽어서 처리하므로 파일 전체를 메모리에 올리지 않는다.
+     * - 응답: 입력 한 줄당 처리 결과(ACCEPTED/REJECTED) 한 줄(NDJSON)
+     */
+    @PostMapping(value = "/api/v2/members/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importMembersCsv(InputStream body, HttpServletResponse response) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Iterator<MemberImportRow> rows = reader.lines()
+                .skip(1)
+                .filter(line -> !line.isBlank())
+                .map(MemberApiController::parseCsvLine)
+                .iterator();
+
+        writeImportReport(rows, response);
+    }
+
+    /**
+     * 회원 일괄 등록(JSON 배열)
+     * - [{"name":..., "city":..., "street":..., "zipcode":...}, ...] 를 원소 단위로 읽는다.(MappingIterator)
+     */
+    @PostMapping(value = "/api/v2/members/import", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importMembersJson(InputStream body, HttpServletResponse response) throws IOException {
+        Iterator<MemberImportRow> rows = objectMapper.readerFor(MemberImportRow.class).readValues(body);
+
+        writeImportReport(rows, response);
+    }
+
+    private void writeImportReport(Iterator<MemberImportRow> rows, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (SequenceWriter writer = objectMapper.writerFor(MemberImportResult.class)
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            memberImportService.importMembers(rows, result -> {
+                try {
+                    writer.write(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static MemberImportRow parseCsvLine(String line) {
+        List<String> columns = splitCsvLine(line);
+        return new MemberImportRow(
+                csvColumn(columns, 0),
+                csvColumn(columns, 1),
+                csvColumn(columns, 2),
+                csvColumn(columns, 3));
+    }
+
+    /**
+     * CSV 한 줄을 컬럼으로 나눈다.(RFC 4180 의 따옴표 규칙, 한 줄 안에서만)
+     * - 따옴표로 감싼 값은 앞뒤 공백을 그대로 두고, 감싸지 않은 값은 trim 한다.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false; // 따옴표 안을 읽는 중
+        boolean wasQuoted = false; // 현재 컬럼이 따옴표로 감싼 값
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    column.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && column.toString().isBlank()) {
+                column.setLength(0);
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                columns.add(wasQuoted ? column.toString() : column.toString().trim());
+                column.setLength(0);
+                wasQuoted = false;
+            } else if (!wasQuoted || !Character.isWhitespace(c)) {
+                column.append(c); // 닫는 따옴표 뒤의 공백은 버린다
+            }
+        }
+        columns.add(wasQuoted ? column.toString() : column.toString().trim());
+        return columns;
+    }
+
+    private static String csvColumn(List<String> columns, int index) {
+        return index < columns.size() ? columns.get(index) : null;
+    }
+
     /**
      * 회원 수정 API
      */
@@ -1,25 +1,36 @@
 package jpabook.jpashop.api;
 
-import jpabook.jpashop.domain.Address;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jpabook.jpashop.domain.Order;
-import jpabook.jpashop.domain.OrderItem;
-import jpabook.jpashop.domain.OrderStatus;
-import jpabook.jpashop.repository.OrderRepository;
-import jpabook.jpashop.repository.OrderSearch;
-import jpabook.jpashop.repository.order.query.OrderFlatDto;
-import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryDto;
-import jpabook.jpashop.repository.order.query.OrderQueryRepository;
 import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.query.OrderDto;
+import jpabook.jpashop.service.query.OrderExportService;
 import jpabook.jpashop.service.query.OrderQueryService;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.*;
@@ -33,9 +44,12 @@ import static java.util.stream.Collectors.*;
 @RequiredArgsConstructor
 public class OrderApiController {
 
-    private final OrderRepository orderRepository;
-    private final OrderQueryRepository orderQueryRepository;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final OrderService orderService;
     private final OrderQueryService orderQueryService;
+    private final OrderExportService orderExportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * V1. 엔티티 직접 노출 - 좋은 방법X
@@ -44,17 +58,9 @@ public class OrderApiController {
      */
     @GetMapping("/api/v1/orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAllByString(new OrderSearch());
-        for (Order order : all) {
-            order.getMember().getUsername(); // LAZY 강제 초기화
-            order.getDelivery().getAddress(); // LAZY 강제 초기화
-
-            // orderItem, item 관계를 직접 초기화하면 Hibernate5JakartaModule 설정에 의해 엔티티를 JSON 으로 생성한다.
-            List<OrderItem> orderItems = order.getOrderItems();
-            orderItems.stream().forEach(o -> o.getItem().getName()); // LAZY 강제 초기화
-        }
-
-        return all;
+        // orderItem, item 관계를 직접 초기화하면 Hibernate5JakartaModule 설정에 의해 엔티티를 JSON 으로 생성한다.
+        // OSIV OFF 이므로 초기화는 트랜잭션 안(OrderQueryService)에서 한다.
+        return orderQueryService.findOrderEntities();
     }
 
     /**
@@ -64,36 +70,13 @@ public class OrderApiController {
      *   - 각 row 당 N번 조회 -> member(N), delivery(N), orderItem(N)
      *   - orderItem 컬렉션 조회 -> 2건 조회
      *     - 각 row 당 N번 조회 -> Item(N)
+     * - OSIV OFF(application.yml) 이므로 지연 로딩과 DTO 변환은 OrderQueryService 트랜잭션 안에서 한다.
      */
     @GetMapping("/api/v2/orders")
     public List<OrderDto> ordersV2() {
-        List<Order> orders = orderRepository.findAllByString(new OrderSearch());
-        List<OrderDto> result = orders.stream().map(OrderDto::new)
-                .collect(toList());
-
-        return result;
+        return orderQueryService.findOrdersWithLazyLoading();
     }
 
-    /**
-     * OSIV와 성능 최적화
-     * - OSIV는 default 값 true
-     * OSIV - true
-     * - 트래픽이 많은 실시간 서비스에서 사용 X
-     * - 데이터베이스 커넥션을 VIEW, Controller 단까지 가져감
-     * - 장점: 지연로딩 로직 등을 VIEW, Controller 단에 작성 가능
-     * - 단점: 커넥션 부족으로 성능 이슈 발생 가능
-     * OSIV - false
-     * - 트래픽이 많은 실시간 서비스에 적용
-     * - 데이터베이스 커넥션이 트랜잭션 시작-끝 부분만 적용
-     * - 장점: DB 커넥션 성능 최적화
-     * - 단점: 커맨드 - 쿼리 분리 로직을 따로 가져가야함, 즉 지연 로딩 사용 불가
-     *   - 서비스 계층에 로직을 모두 작성 or fetch join 적용(OrderQueryService 클래스 참고)
-     */
-//    @GetMapping("/api/v2.1/orders")
-//    public List<jpabook.jpashop.service.query.OrderDto> ordersV2_1() {
-//        return orderQueryService.disableOsivOrders();
-//    }
-
     /**
      * V3. 엔티티를 조회해서 DTO로 변환(fetch join 사용O)
      */
@@ -113,16 +96,7 @@ public class OrderApiController {
          * 4. 일대다 컬렉션 조회 시 다중 컬렉션 조회 X
          * - 이미 일대다 관계 조인으로 인해 데이터가 증가하였는데, 다른 N개의 데이터가 폭발적으로 증가하게 됨. -> 데이터 정합성 깨질 위험 높음
          */
-        List<Order> orders = orderRepository.findAllWithItem();
-
-        for (Order order : orders) {
-            System.out.println("order ref= " + order + ", id: " + order.getId());
-        }
-
-        List<OrderDto> result = orders.stream().map(OrderDto::new)
-                .collect(toList());
-
-        return result;
+        return orderQueryService.findOrdersWithItem();
     }
 
     /**
@@ -141,11 +115,49 @@ public class OrderApiController {
             @RequestParam(value = "offset", defaultValue = "0") int offset,
             @RequestParam(value = "limit", defaultValue = "100") int limit) {
 
-        List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit); // xToOne 관계에서 만든 패치 조인(member, delivery)
-        List<OrderDto> result = orders.stream().map(OrderDto::new)
-                .collect(toList());
+        return orderQueryService.findOrdersWithMemberDelivery(offset, limit); // xToOne 관계에서 만든 패치 조인(member, delivery)
+    }
+
+    /**
+     * V3-2. V3-1 + 키셋(커서) 페이징
+     * - offset 은 뒤 페이지로 갈수록 DB가 앞의 row 를 모두 읽고 버려야 하므로 느려진다.
+     * - 응답의 next 커서를 다음 요청의 cursor 로 넘기면 마지막 order_id 다음부터 인덱스로 바로 조회하므로 모든 페이지 비용이 같다.
+     * - sort=orderDate 로 첫 페이지를 요청하면 (orderDate, order_id) 순서로 조회한다. 이후에는 커서에 정렬 기준이 담겨 있다.
+     * - 컬렉션(orderItems)은 V3-1과 동일하게 default_batch_fetch_size(IN 쿼리)로 조회한다.
+     */
+    @GetMapping("/api/v3.2/orders")
+    public CursorResult<List<OrderDto>> ordersV3_2Cursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        OrderCursor after = null;
+        if (cursor != null) {
+            try {
+                after = OrderCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+        boolean byOrderDate = after != null ? after.isOrderDateBased() : "orderDate".equals(sort);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // pageSize + 1 건을 조회해서 다음 페이지 존재 여부를 판단
+        List<OrderDto> orders = byOrderDate
+                ? orderQueryService.findOrdersAfterOrderDate(
+                        after != null ? after.getOrderDate() : null,
+                        after != null ? after.getOrderId() : null, pageSize + 1)
+                : orderQueryService.findOrdersAfterId(
+                        after != null ? after.getOrderId() : null, pageSize + 1);
+
+        String next = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderDto last = orders.get(pageSize - 1);
+            next = (byOrderDate ? OrderCursor.byOrderDate(last) : OrderCursor.byId(last)).encode();
+        }
 
-        return result;
+        return new CursorResult<>(orders, next);
     }
 
     /** V4. JPA에서 DTO로 바로 조회, 컬렉션 N 조회 (1 + N Query)
@@ -153,7 +165,7 @@ public class OrderApiController {
      */
     @GetMapping("/api/v4/orders")
     public List<OrderQueryDto> ordersV4() {
-        return orderQueryRepository.findOrderQueryDtos();
+        return orderQueryService.findOrderQueryDtos();
     }
 
 
@@ -164,7 +176,7 @@ public class OrderApiController {
      */
     @GetMapping("/api/v5/orders")
     public List<OrderQueryDto> ordersV5() {
-        return orderQueryRepository.findAllByDto_optimization();
+        return orderQueryService.findOrderQueryDtosOptimized();
     }
 
 
@@ -173,60 +185,94 @@ public class OrderApiController {
      * 장점
      * - 1번의 쿼리
      * 단점
-     * - 페이징 불가능
      * - 애플리케이션에서 추가 작업이 크다.
      * - 쿼리는 한번이지만 조인으로 인해 DB에서 애플리케이션에 전달하는 데이터에 중복 데이터가 추가되므로 상황에 따라 V5 보다 더 느릴 수도 있다.
+     * 페이징
+     * - order_id 순서로 정렬된 플랫 row 를 한번 순회하면서 인접한 row 를 주문 단위로 묶는다.(OrderFlatAssembler)
+     * - 조인 row 수가 아닌 주문 수(limit) 기준으로 자르고, 다음 페이지는 마지막 orderId 를 lastOrderId 로 넘긴다.
      */
     @GetMapping("/api/v6/orders")
-    public List<OrderQueryDto> ordersV6() {
-        List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
-
-        return flats.stream()
-                .collect(groupingBy(o -> new OrderQueryDto(o.getOrderId(),
-                                o.getName(), o.getOrderDate(), o.getOrderStatus(), o.getAddress()),
-                        mapping(o -> new OrderItemQueryDto(o.getOrderId(),
-                                o.getItemName(), o.getOrderPrice(), o.getCount()), toList())
-                )).entrySet().stream()
-                .map(e -> new OrderQueryDto(e.getKey().getOrderId(),
-                        e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(),
-                        e.getKey().getAddress(), e.getValue())).collect(toList());
+    public List<OrderQueryDto> ordersV6(
+            @RequestParam(value = "lastOrderId", required = false) Long lastOrderId,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return orderQueryService.findOrderQueryDtosFlat(lastOrderId, pageSize);
     }
 
-    @Data
-    static class OrderDto {
-        private final Long orderId;
-        private final String name;
-        private final LocalDateTime orderDate; // 주문시간
-        private final OrderStatus orderStatus;
-        private final Address address;
-        private final List<OrderItemDto> orderItems;
-
-        public OrderDto(Order order) {
-            this.orderId = order.getId();
-            this.name = order.getMember().getUsername();
-            this.orderDate = order.getOrderDate();
-            this.orderStatus = order.getStatus();
-            this.address = order.getDelivery().getAddress();
-
-            // 전송할 데이터와 엔티티는 확실히 구분해야 한다.
-            // 여기서는 order.getOrderItems() 메서드를 호출하면 OrderItem 엔티티가 반환되므로 별도의 DTO를 만들어서 필요한 데이터만 추출한다.
-            this.orderItems = order.getOrderItems().stream()
-                    .map(OrderItemDto::new)
-                    .collect(toList());
+    /**
+     * V6-1. 주문 전체 내보내기(NDJSON 스트리밍)
+     * - 전체 결과를 List 로 만들어서 한번에 JSON 으로 변환하지 않고, 커서로 읽는 즉시 한 줄에 하나씩 응답에 쓴다.
+     * - 주문 수가 늘어나도 힙 사용량이 일정하다.(OrderExportService 참고)
+     */
+    @GetMapping(value = "/api/v6/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportOrders(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (SequenceWriter writer = objectMapper.writerFor(OrderQueryDto.class)
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            orderExportService.exportOrders(order -> {
+                try {
+                    writer.write(order);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 장바구니 주문: 여러 상품(itemId, count)을 하나의 주문으로 생성
+     * - 상품마다 order()를 호출하면 상품 수만큼 왕복과 주문이 생기지만, 여기서는 주문 1건에 주문상품 N건을 저장한다.
+     * - 같은 상품이 여러 줄이면 수량을 합친다.(합이 int 범위를 넘으면 400)
+     * - 회원/상품이 없으면 400, 재고가 부족하면 409(ApiExceptionAdvice)
+     */
+    @PostMapping("/api/orders/checkout")
+    public CheckoutResponse checkout(@RequestBody @Valid CheckoutRequest request) {
+        Map<Long, Integer> itemCounts;
+        try {
+            itemCounts = request.getLines().stream()
+                    .collect(toMap(CheckoutLine::getItemId, CheckoutLine::getCount, Math::addExact));
+        } catch (ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "주문 수량이 너무 큽니다.", e);
         }
+
+        try {
+            Long orderId = orderService.order(request.getMemberId(), itemCounts);
+            return new CheckoutResponse(orderId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @Data
+    static class CheckoutRequest {
+        @NotNull
+        private Long memberId;
+        @NotEmpty
+        @Valid
+        private List<CheckoutLine> lines;
     }
 
     @Data
-    static class OrderItemDto {
+    static class CheckoutLine {
+        @NotNull
+        private Long itemId;
+        @Positive
+        private int count;
+    }
 
-        private final String itemName; // 상품명
-        private final int orderPrice; // 주문 가격
-        private final int count; // 수량
+    @Data
+    @AllArgsConstructor
+    static class CheckoutResponse {
+        private Long orderId;
+    }
 
-        public OrderItemDto(OrderItem orderItem) {
-            this.itemName = orderItem.getItem().getName();
-            this.orderPrice = orderItem.getOrderPrice();
-            this.count = orderItem.getCount();
-        }
+    @Data
+    @AllArgsConstructor
+    static class CursorResult<T> {
+        private T data;
+        private String next; // 다음 페이지 커서, 마지막 페이지면 null
     }
 }
@@ -0,0 +1,69 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.service.query.OrderDto;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 주문 키셋 페이징 커서
+ * - 클라이언트에는 내부 구조를 알 수 없는 문자열(Base64 URL)로 전달한다.
+ * - 정렬 기준(order_id 또는 orderDate + order_id)을 커서에 함께 담아서 다음 페이지도 같은 기준으로 조회한다.
+ */
+@Getter
+public class OrderCursor {
+
+    private static final String BY_ID = "i";
+    private static final String BY_ORDER_DATE = "d";
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime orderDate; // null 이면 order_id 기준
+    private final Long orderId;
+
+    private OrderCursor(LocalDateTime orderDate, Long orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    public static OrderCursor byId(OrderDto last) {
+        return new OrderCursor(null, last.getOrderId());
+    }
+
+    public static OrderCursor byOrderDate(OrderDto last) {
+        return new OrderCursor(last.getOrderDate(), last.getOrderId());
+    }
+
+    public boolean isOrderDateBased() {
+        return orderDate != null;
+    }
+
+    public String encode() {
+        String raw = isOrderDateBased()
+                ? BY_ORDER_DATE + DELIMITER + orderDate + DELIMITER + orderId
+                : BY_ID + DELIMITER + orderId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 잘못된 커서 문자열
+     */
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+
+            if (parts.length == 2 && BY_ID.equals(parts[0])) {
+                return new OrderCursor(null, Long.valueOf(parts[1]));
+            }
+            if (parts.length == 3 && BY_ORDER_DATE.equals(parts[0])) {
+                return new OrderCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+        throw new IllegalArgumentException("잘못된 커서입니다.");
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.service.OrderSummaryService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 주문 요약(order_summary) 관리
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderSummaryApiController {
+
+    private final OrderSummaryService orderSummaryService;
+
+    /**
+     * 주문 요약 전체 재생성 - 원본(orders, member, delivery, order_item)에서 다시 만든다.
+     */
+    @PostMapping("/api/order-summaries/rebuild")
+    public RebuildResult rebuild() {
+        return new RebuildResult(orderSummaryService.rebuild());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RebuildResult {
+        private int rebuilt;
+    }
+}
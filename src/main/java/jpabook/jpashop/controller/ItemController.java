@@ -2,8 +2,11 @@ package jpabook.jpashop.controller;
 
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.service.ItemCatalog;
 import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.ItemView;
 import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.query.ItemQueryService;
 import jpabook.jpashop.web.BookForm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -20,6 +23,8 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemQueryService itemQueryService;
+    private final ItemCatalog itemCatalog;
     private final OrderService orderService;
 
     @GetMapping(value = "/items/new")
@@ -43,11 +48,11 @@ public class ItemController {
     }
 
     /**
-     * 상품 목록
+     * 상품 목록 - 메모리 카탈로그(DB 조회 없음)
      */
     @GetMapping(value = "/items")
     public String list(Model model) {
-        List<Item> items = itemService.findItems();
+        List<ItemView> items = itemCatalog.items();
         model.addAttribute("items", items);
         return "items/itemList";
     }
@@ -57,15 +62,7 @@ public class ItemController {
      */
     @GetMapping(value = "/items/{itemId}/edit")
     public String updateItemForm(@PathVariable("itemId") Long itemId, Model model) {
-        Book item = (Book) itemService.findItem(itemId);
-
-        BookForm form = new BookForm();
-        form.setId(item.getId());
-        form.setName(item.getName());
-        form.setPrice(item.getPrice());
-        form.setStockQuantity(item.getStockQuantity());
-        form.setAuthor(item.getAuthor());
-        form.setIsbn(item.getIsbn());
+        BookForm form = itemQueryService.findBookForm(itemId);
         model.addAttribute("form", form);
 
         return "items/updateItemForm";
@@ -3,7 +3,10 @@ package jpabook.jpashop.controller;
 import jakarta.validation.Valid;
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.exception.DuplicateMemberException;
 import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.query.MemberListDto;
+import jpabook.jpashop.service.query.MemberQueryService;
 import jpabook.jpashop.web.MemberForm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -22,6 +25,7 @@ import java.util.List;
 public class MemberController {
 
     private final MemberService memberService;
+    private final MemberQueryService memberQueryService;
 
     @GetMapping(value = "/members/new")
     public String createForm(Model model) {
@@ -39,12 +43,17 @@ public class MemberController {
         Member member = new Member();
         member.setUsername(form.getName());
         member.setAddress(address);
-        memberService.join(member);
+        try {
+            memberService.join(member);
+        } catch (DuplicateMemberException e) {
+            result.rejectValue("name", "duplicate", e.getMessage());
+            return "members/createMemberForm";
+        }
         return "redirect:/";
     }
 
     @GetMapping(value = "/members") public String list(Model model) {
-        List<Member> members = memberService.findMembers();
+        List<MemberListDto> members = memberQueryService.findMembers();
         model.addAttribute("members", members);
         return "members/memberList";
     }
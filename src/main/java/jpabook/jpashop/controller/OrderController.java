@@ -1,12 +1,10 @@
 package jpabook.jpashop.controller;
 
-import jpabook.jpashop.domain.Member;
-import jpabook.jpashop.domain.Order;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.repository.OrderSearch;
-import jpabook.jpashop.service.ItemService;
-import jpabook.jpashop.service.MemberService;
 import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.query.OrderListDto;
+import jpabook.jpashop.service.query.OrderQueryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,21 +17,15 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
-    private final MemberService memberService;
-    private final ItemService itemService;
+    private final OrderQueryService orderQueryService;
 
     /**
      * 상품 주문 폼 이동
      */
     @GetMapping("/order")
-    public String createForm(Model model) {
-
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
-
-        model.addAttribute("members", members);
-        model.addAttribute("items", items);
-
+    public String createForm() {
+        // 회원, 상품은 화면에서 자동완성 API(/api/v2/members/search, /api/items/search)로 검색한다.
+        // 전체 목록을 화면에 넣지 않으므로 회원/상품 수와 상관없이 화면 크기가 일정하다.
         return "order/orderForm";
     }
 
@@ -55,7 +47,7 @@ public class OrderController {
     @GetMapping("/orders")
     public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
 
-        List<Order> orders = orderService.findOrders(orderSearch);
+        List<OrderListDto> orders = orderQueryService.findOrderList(orderSearch);
         model.addAttribute("orders", orders);
 
         return "order/orderList";
@@ -69,4 +61,13 @@ public class OrderController {
         orderService.cancelOrder(id);
         return "redirect:/orders";
     }
+
+    /**
+     * 배송 완료
+     */
+    @PostMapping("/orders/{id}/delivery/complete")
+    public String completeDelivery(@PathVariable Long id) {
+        orderService.changeDeliveryStatus(id, DeliveryStatus.COMP);
+        return "redirect:/orders";
+    }
 }
@@ -0,0 +1,25 @@
+package jpabook.jpashop.datasource;
+
+/**
+ * 현재 요청(스레드)의 조회를 primary 로 고정(read-your-writes)
+ * - ReadYourWritesInterceptor 가 요청 시작/종료 시점에 설정/해제한다.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 복제 DB 설정(replica 프로파일, application-replica.yml)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jpashop.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration maxLag = Duration.ofSeconds(1); // 복제 지연이 이보다 크면 primary 로 조회
+    private Duration readYourWritesWindow = Duration.ofSeconds(5); // 쓰기 요청 후 이 시간 동안은 primary 로 조회
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private String lagQuery; // 복제 지연(ms)을 반환하는 쿼리, 없으면 지연 0 으로 본다.
+    }
+}
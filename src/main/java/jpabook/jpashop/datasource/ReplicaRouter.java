@@ -0,0 +1,166 @@
+package jpabook.jpashop.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * primary / 복제 DB 커넥션 풀 선택
+ * - 읽기 전용 트랜잭션(@Transactional(readOnly = true))이면 사용 가능한 복제 DB 중 하나를 돌아가면서 선택한다.
+ * - 쓰기 트랜잭션, 트랜잭션 밖의 조회, read-your-writes 요청은 primary 를 사용한다.
+ * - 복제 DB 상태(연결 가능 여부, 복제 지연)는 주기적으로 확인하고, 사용할 수 있는 복제 DB 가 없으면 primary 로 조회한다.
+ * - 지표: jpashop.datasource.route(선택된 풀), jpashop.datasource.replica.available/lag,
+ *   풀 상태는 hikaricp.connections.*(pool=primary, replica-N)
+ */
+@Slf4j
+public class ReplicaRouter implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final Duration maxLag;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> routeCounters = new ConcurrentHashMap<>();
+
+    public ReplicaRouter(HikariDataSource primary, List<ReplicaPool> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.meterRegistry = meterRegistry;
+
+        for (ReplicaPool replica : this.replicas) {
+            Gauge.builder("jpashop.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("pool", replica.name).register(meterRegistry);
+            Gauge.builder("jpashop.datasource.replica.lag", replica, r -> r.lagMillis)
+                    .tag("pool", replica.name).baseUnit("milliseconds").register(meterRegistry);
+        }
+    }
+
+    /**
+     * 트랜잭션의 readOnly 여부는 커넥션을 실제로 얻는 시점에 판단해야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+     */
+    public DataSource routingDataSource() {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaPool replica : replicas) {
+            targets.put(replica.name, replica.dataSource);
+        }
+
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    String route() {
+        String target = selectTarget();
+        routeCounters.computeIfAbsent(target, key -> Counter.builder("jpashop.datasource.route")
+                .tag("pool", key).register(meterRegistry)).increment();
+        return target;
+    }
+
+    private String selectTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPrimaryForced()) {
+            return PRIMARY;
+        }
+
+        int size = replicas.size();
+        if (size == 0) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaPool replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return PRIMARY; // 사용할 수 있는 복제 DB 가 없음
+    }
+
+    /**
+     * 복제 DB 상태 확인(연결 + 복제 지연)
+     */
+    @Scheduled(fixedDelayString = "${jpashop.datasource.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (ReplicaPool replica : replicas) {
+            boolean available;
+            try {
+                replica.lagMillis = measureLag(replica);
+                available = replica.lagMillis <= maxLag.toMillis();
+            } catch (SQLException e) {
+                available = false;
+                log.debug("복제 DB 상태 확인 실패: {}", replica.name, e);
+            }
+
+            if (replica.available != available) {
+                log.warn("복제 DB {} {}(복제 지연 {}ms)", replica.name, available ? "사용" : "제외", replica.lagMillis);
+            }
+            replica.available = available;
+        }
+    }
+
+    private static long measureLag(ReplicaPool replica) throws SQLException {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(1)) {
+                throw new SQLException("connection is not valid");
+            }
+            if (replica.lagQuery == null) {
+                return 0;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(replica.lagQuery)) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (ReplicaPool replica : replicas) {
+            replica.dataSource.close();
+        }
+        primary.close();
+    }
+
+    public static class ReplicaPool {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final String lagQuery;
+        private volatile boolean available; // 첫 상태 확인 전에는 사용하지 않는다.
+        private volatile long lagMillis;
+
+        public ReplicaPool(String name, HikariDataSource dataSource, String lagQuery) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.lagQuery = lagQuery;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package jpabook.jpashop.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 전용 트랜잭션을 복제 DB 로 보내는 DataSource 설정
+ * - replica 프로파일에서만 사용한다.(--spring.profiles.active=replica, 설정은 application-replica.yml)
+ * - primary 는 spring.datasource.*, 복제 DB 는 jpashop.datasource.replicas[*]
+ */
+@Configuration
+@Profile("replica")
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaProperties replicaProperties;
+
+    public ReplicaRoutingConfig(ReplicaProperties replicaProperties) {
+        this.replicaProperties = replicaProperties;
+    }
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReplicaRouter.PRIMARY);
+        primary.setMetricRegistry(meterRegistry);
+
+        List<ReplicaRouter.ReplicaPool> replicas = new ArrayList<>();
+        int index = 1;
+        for (ReplicaProperties.Replica replica : replicaProperties.getReplicas()) {
+            String name = "replica-" + index++;
+
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setInitializationFailTimeout(-1); // 복제 DB 가 내려가 있어도 애플리케이션은 시작
+            dataSource.setMetricRegistry(meterRegistry);
+
+            replicas.add(new ReplicaRouter.ReplicaPool(name, dataSource, replica.getLagQuery()));
+        }
+
+        return new ReplicaRouter(primary, replicas, replicaProperties.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        return new LazyConnectionDataSourceProxy(replicaRouter.routingDataSource());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicaProperties.getReadYourWritesWindow()))
+                .excludePathPatterns("/css/**", "/js/**", "/actuator/**");
+    }
+}
@@ -0,0 +1,89 @@
+package jpabook.jpashop.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)의 JDBC 설정
+ * - Tomcat 요청 처리와 그 안의 @Transactional 서비스 호출이 가상 스레드에서 실행된다.(스프링 부트 설정)
+ * - 스레드 수가 더 이상 동시 요청 수의 상한이 아니므로, 커넥션 풀 크기와 JDBC 동시 사용 수를 여기서 제한한다.
+ * 커넥션 풀 크기 정책
+ * - jpashop.jdbc.virtual-threads.max-pool-size 를 지정하지 않으면 (CPU 코어 수 * 2 + 1)과 설정된 maximum-pool-size 중 작은 값
+ * - 풀 크기만큼만 커넥션을 동시에 사용할 수 있고(JdbcBulkheadDataSource), 나머지는 Semaphore 에서 대기한다.
+ * pinning
+ * - JDK 21 ~ 23 은 synchronized 안에서 블로킹되면 가상 스레드가 캐리어 스레드를 점유(pinning)한다.(H2 드라이버 세션 동기화 등)
+ * - 드라이버에 들어가는 스레드 수가 풀 크기로 제한되므로, 캐리어 수(jdk.virtualThreadScheduler.parallelism)가 풀 크기보다 작으면 경고를 남긴다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadJdbcConfig {
+
+    @Bean
+    static BeanPostProcessor jdbcBulkheadPostProcessor(Environment environment) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism", cores);
+        Integer configuredPoolSize = environment.getProperty("jpashop.jdbc.virtual-threads.max-pool-size", Integer.class);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int poolSize = configuredPoolSize != null
+                            ? configuredPoolSize
+                            : Math.min(hikari.getMaximumPoolSize(), cores * 2 + 1);
+                    hikari.setMaximumPoolSize(poolSize);
+                    if (hikari.getMinimumIdle() > poolSize) {
+                        hikari.setMinimumIdle(poolSize);
+                    }
+
+                    if (carriers < poolSize) {
+                        log.warn("가상 스레드 캐리어 수({})가 커넥션 풀 크기({})보다 작습니다. JDBC pinning 시 다른 가상 스레드가 대기할 수 있습니다."
+                                + " -Djdk.virtualThreadScheduler.parallelism={} 이상을 권장합니다.", carriers, poolSize, poolSize);
+                    }
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+
+                JdbcBulkheadDataSource bulkhead = new JdbcBulkheadDataSource(
+                        hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                log.info("가상 스레드 모드: 커넥션 풀 {}개, JDBC 동시 사용 {}개로 제한", hikari.getMaximumPoolSize(), bulkhead.getMaxPermits());
+                return bulkhead;
+            }
+        };
+    }
+
+    /**
+     * jpashop.jdbc.bulkhead.waiting: 커넥션 사용 권한을 기다리는 가상 스레드 수
+     * jpashop.jdbc.bulkhead.available: 남은 권한 수
+     */
+    @Bean
+    MeterBinder jdbcBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            JdbcBulkheadDataSource bulkhead = DataSourceUnwrapper.unwrap(dataSource, JdbcBulkheadDataSource.class);
+            if (bulkhead == null) {
+                return;
+            }
+            Gauge.builder("jpashop.jdbc.bulkhead.waiting", bulkhead, JdbcBulkheadDataSource::getQueueLength)
+                    .register(registry);
+            Gauge.builder("jpashop.jdbc.bulkhead.available", bulkhead, JdbcBulkheadDataSource::getAvailablePermits)
+                    .register(registry);
+        };
+    }
+}
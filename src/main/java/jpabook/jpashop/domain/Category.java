@@ -4,33 +4,48 @@ import jakarta.persistence.*;
 import jpabook.jpashop.domain.item.Item;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static jakarta.persistence.FetchType.*;
 
 @Entity
 @Getter
 @Setter
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     private String name;
 
+    /**
+     * Set 이므로 조인 테이블 PK 가 (category_id, item_id)이고, 하나를 추가/삭제하면 그 row 만 INSERT/DELETE 한다.
+     * (List(bag)는 변경 시 카테고리의 조인 테이블 row 를 모두 지우고 다시 INSERT 한다)
+     * - 컬렉션을 건드리면 카테고리의 상품 전체를 로딩하므로 상품 목록/추가/삭제는 CategoryRepository 를 사용한다.
+     */
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany
     @JoinTable(name = "category_item",
             joinColumns = @JoinColumn(name = "category_id"),
-            inverseJoinColumns = @JoinColumn(name = "item_id"))
-    private List<Item> items = new ArrayList<>();
+            inverseJoinColumns = @JoinColumn(name = "item_id"),
+            indexes = @Index(name = "idx_category_item_item_id", columnList = "item_id, category_id"))
+    private Set<Item> items = new HashSet<>();
 
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "parent_id")
     private Category parent;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
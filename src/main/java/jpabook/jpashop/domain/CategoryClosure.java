@@ -0,0 +1,44 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 카테고리 계층 클로저 테이블 - (조상, 자손, 거리) 쌍을 모두 저장한다.
+ * - 자기 자신도 거리 0 으로 저장하므로 서브트리/조상 조회가 계층 깊이와 상관없이 조인 한번이다.
+ *   - 서브트리: where ancestor_id = ? (PK 앞부분)
+ *   - 조상: where descendant_id = ? (idx_category_closure_descendant)
+ * - 카테고리 추가 시 CategoryRepository.insertClosure 로 부모의 조상 행을 복사해서 유지한다.
+ */
+@Entity
+@Table(name = "category_closure", indexes = {
+        @Index(name = "idx_category_closure_descendant", columnList = "descendant_id, depth")
+})
+@IdClass(CategoryClosure.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    private int depth; // 조상에서 자손까지 거리(자기 자신은 0)
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
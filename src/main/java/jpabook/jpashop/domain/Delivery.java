@@ -10,7 +10,8 @@ import lombok.Setter;
 public class Delivery {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_seq")
+    @SequenceGenerator(name = "delivery_seq", sequenceName = "delivery_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "delivery_id")
     private Long id;
 
@@ -0,0 +1,15 @@
+package jpabook.jpashop.domain;
+
+/**
+ * 식별자(시퀀스) 할당 설정
+ * - 시퀀스를 ALLOCATION_SIZE 단위로 증가시키고 애플리케이션 메모리에서 id 를 나눠준다.(pooled-lo)
+ * - 엔티티 ALLOCATION_SIZE 개를 저장할 때 시퀀스 호출은 1번이므로 INSERT 배치(hibernate.jdbc.batch_size)가 끊기지 않는다.
+ * - 운영 DB 시퀀스 증가값과 다르면 hibernate.id.sequence.increment_size_mismatch_strategy 설정을 따른다.
+ */
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 100;
+
+    private IdGeneration() {
+    }
+}
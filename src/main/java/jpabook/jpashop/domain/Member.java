@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,10 +13,14 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_member_username", columnNames = "username"))
 public class Member {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+    @SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "member_id")
     private Long id;
     private String username;
@@ -22,6 +28,7 @@ public class Member {
     @Embedded
     private Address address;
 
+    // Order 는 캐시 대상이 아니므로 컬렉션도 캐시하지 않는다.(캐시된 id 로 Order 를 한건씩 조회하게 됨)
     @JsonIgnore
     @OneToMany(mappedBy = "member")
     private List<Order> orders = new ArrayList<>();
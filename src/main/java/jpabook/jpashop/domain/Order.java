@@ -12,14 +12,18 @@ import java.util.List;
 
 import static jakarta.persistence.FetchType.*;
 
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, order_id"),
+        @Index(name = "idx_orders_member_id", columnList = "member_id")
+})
 @Entity
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "order_id")
     private Long id;
 
@@ -64,6 +68,9 @@ public class Order {
             order.addOrderItem(orderItem);
         }
 
+        if (delivery.getStatus() == null) {
+            delivery.setStatus(DeliveryStatus.READY);
+        }
         order.setDelivery(delivery);
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(OrderStatus.ORDER);
@@ -74,6 +81,7 @@ public class Order {
     // == 비즈니스 로직 ==
     /**
      * 주문 취소
+     * - 재고를 복구하므로 주문상품의 상품은 락을 잡고 조회한 상태여야 한다.(ItemRepository.findForUpdate)
      */
     public void cancel() {
         if (delivery.getStatus() == DeliveryStatus.COMP) {
@@ -89,9 +97,12 @@ public class Order {
     // == 조회 로직 ==
     /**
      * 전체 주문 가격 조회
+     * - orderItems 컬렉션을 초기화하므로 목록 조회에서는 OrderQueryRepository.findOrderTotalMap(DB 집계)이나
+     *   주문 요약(OrderSummary.totalPrice)을 사용한다.
+     * - 큰 주문에서 int 범위를 넘을 수 있으므로 long
      */
-    public int getTotalPrice() {
-        int totalPrice = 0;
+    public long getTotalPrice() {
+        long totalPrice = 0;
         for (OrderItem orderItem : orderItems) {
             totalPrice += orderItem.getTotalPrice();
         }
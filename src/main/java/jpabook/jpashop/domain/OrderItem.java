@@ -16,7 +16,8 @@ import static jakarta.persistence.FetchType.*;
 public class OrderItem {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -50,10 +51,11 @@ public class OrderItem {
         getItem().addStock(count);
     }
 
+
     /**
      * 상품 전체 금액
      */
-    public int getTotalPrice() {
-        return getOrderPrice() * getCount();
+    public long getTotalPrice() {
+        return (long) getOrderPrice() * getCount(); // int * int 는 int 범위를 넘으면 overflow
     }
 }
@@ -0,0 +1,67 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 조회 전용 요약 테이블(주문당 1 row, CQRS 읽기 모델)
+ * - 목록 조회 때마다 orders, member, delivery 를 조인하고 orderItems 를 순회해서 금액을 계산하지 않도록
+ *   쓰기 시점(OrderService, MemberService)에 같은 트랜잭션으로 갱신한다.
+ * - 원본과 어긋나면 OrderSummaryService.rebuild 로 전체를 다시 만든다.
+ */
+@Entity
+@Table(name = "order_summary", indexes = {
+        @Index(name = "idx_order_summary_member_id", columnList = "member_id, order_id"),
+        @Index(name = "idx_order_summary_order_status", columnList = "order_status, order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId; // orders.order_id 와 같은 값
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private String memberName;
+
+    @Embedded
+    private Address address; // 배송지
+
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatus deliveryStatus;
+
+    private int itemCount; // 주문상품 종류 수
+
+    private long totalPrice; // 주문 금액 합계(orderPrice * count), int 범위를 넘을 수 있으므로 long
+
+    /**
+     * 저장 직후의 주문(회원, 배송, 주문상품이 메모리에 있는 상태)으로 요약 생성 - 추가 조회 없음
+     */
+    public static OrderSummary from(Order order) {
+        OrderSummary summary = new OrderSummary();
+        summary.orderId = order.getId();
+        summary.memberId = order.getMember().getId();
+        summary.memberName = order.getMember().getUsername();
+        summary.address = order.getDelivery().getAddress();
+        summary.orderDate = order.getOrderDate();
+        summary.orderStatus = order.getStatus();
+        summary.deliveryStatus = order.getDelivery().getStatus();
+        summary.itemCount = order.getOrderItems().size();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            summary.totalPrice += orderItem.getTotalPrice();
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,24 @@
+package jpabook.jpashop.exception;
+
+/**
+ * 이미 존재하는 회원 이름으로 가입/수정
+ * - 기존 코드(IllegalStateException 처리)와 호환되도록 IllegalStateException 을 상속한다.
+ */
+public class DuplicateMemberException extends IllegalStateException {
+
+    public DuplicateMemberException() {
+        super();
+    }
+
+    public DuplicateMemberException(String message) {
+        super(message);
+    }
+
+    public DuplicateMemberException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public DuplicateMemberException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,18 @@
+package jpabook.jpashop.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 하이버네이트가 실행하는 SQL 문 수를 요청 단위로 센다.(SQL 은 변경하지 않음)
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.addStatement();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,37 @@
+package jpabook.jpashop.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 요청 단위 쿼리 지표 수집을 위한 하이버네이트 설정
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer queryMetricsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestMetricsSessionEventListener.class.getName());
+        };
+    }
+
+    @Bean
+    SmartInitializingSingleton requestLoadEventListenerRegistrar(EntityManagerFactory emf) {
+        return () -> {
+            EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            RequestLoadEventListener listener = new RequestLoadEventListener();
+            registry.appendListeners(EventType.POST_LOAD, listener);
+            registry.appendListeners(EventType.INIT_COLLECTION, listener);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package jpabook.jpashop.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트(/api/v2/orders, /orders ...)별 DB 접근 지표를 Micrometer 로 기록한다.(/actuator/metrics)
+ * - jpashop.request.sql.statements: 실행한 SQL 문 수(N + 1 확인용)
+ * - jpashop.request.jdbc.time: JDBC 실행 시간 합계
+ * - jpashop.request.entities.loaded: 로딩된 엔티티 수
+ * - jpashop.request.collections.fetched: 컬렉션 페치 수
+ * - jpashop.request.connection.held: DB 커넥션 점유 시간(OSIV ON 이면 뷰 렌더링/JSON 직렬화까지 포함)
+ * - jpashop.request.connection.acquire: DB 커넥션 획득 시간(풀 대기 포함)
+ * - jpashop.request.connections: 요청 동안 얻은 커넥션 수
+ * 모두 히스토그램(percentile histogram)으로 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/css/") || uri.startsWith("/js/") || uri.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "method", request.getMethod());
+
+        DistributionSummary.builder("jpashop.request.sql.statements")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("jpashop.request.jdbc.time")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("jpashop.request.entities.loaded")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getEntitiesLoaded());
+        DistributionSummary.builder("jpashop.request.collections.fetched")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getCollectionsFetched());
+        Timer.builder("jpashop.request.connection.held")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getConnectionHeldNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("jpashop.request.connection.acquire")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getConnectionAcquireNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("jpashop.request.connections")
+                .tags(tags).publishPercentileHistogram().register(meterRegistry)
+                .record(stats.getConnectionsAcquired());
+    }
+}
@@ -0,0 +1,30 @@
+package jpabook.jpashop.metrics;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * 요청 처리 중 로딩된 엔티티 수, 초기화된 컬렉션 수를 센다.
+ * - 기본 리스너 뒤에 추가(append)되므로 로딩 동작은 바꾸지 않는다.
+ * - 배치 페치(default_batch_fetch_size)로 함께 초기화된 컬렉션은 한번의 페치로 센다.
+ */
+public class RequestLoadEventListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.addEntityLoaded();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.addCollectionFetched();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package jpabook.jpashop.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * 세션(영속성 컨텍스트) 단위 JDBC 이벤트로 요청의 JDBC 실행 시간, 커넥션 획득/점유 시간을 누적한다.
+ * - hibernate.session.events.auto 설정으로 세션마다 새로 생성된다.
+ */
+public class RequestMetricsSessionEventListener extends BaseSessionEventListener {
+
+    private long jdbcExecuteStart = -1;
+    private long connectionAcquisitionStart = -1;
+    private long connectionAcquiredAt = -1;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        jdbcExecuteStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addJdbcTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addJdbcTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connectionAcquiredAt = System.nanoTime();
+
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && connectionAcquisitionStart >= 0) {
+            stats.addConnectionAcquired(connectionAcquiredAt - connectionAcquisitionStart); // 커넥션 풀 대기 시간 포함
+        }
+        connectionAcquisitionStart = -1;
+    }
+
+    @Override
+    public void jdbcConnectionReleaseStart() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && connectionAcquiredAt >= 0) {
+            stats.addConnectionHeldTime(System.nanoTime() - connectionAcquiredAt);
+        }
+        connectionAcquiredAt = -1;
+    }
+
+    private void addJdbcTime() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null && jdbcExecuteStart >= 0) {
+            stats.addJdbcTime(System.nanoTime() - jdbcExecuteStart);
+        }
+        jdbcExecuteStart = -1;
+    }
+}
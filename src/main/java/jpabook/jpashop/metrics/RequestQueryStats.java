@@ -0,0 +1,78 @@
+package jpabook.jpashop.metrics;
+
+import lombok.Getter;
+
+/**
+ * HTTP 요청 하나 동안 발생한 DB 접근 통계
+ * - 요청 스레드의 ThreadLocal 에 보관하고, 하이버네이트 리스너(StatementInspector, SessionEventListener 등)가 값을 누적한다.
+ * - 요청이 끝나면 QueryMetricsFilter 가 Micrometer 로 기록한다.
+ */
+@Getter
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+    private int collectionsFetched;
+    private long connectionHeldNanos;
+    private int connectionsAcquired;
+    private long connectionAcquireNanos;
+
+    public static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return 요청 처리 중이 아니면(스케줄러, 별도 스레드 등) null
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 다른 스레드에서 모은 통계(요청 하나의 동시 조회, ParallelReadExecutor)를 합친다.
+     * - 합치는 스레드끼리만 동기화하므로 요청 스레드는 합치는 동안(fork ~ join) 조회하지 않아야 한다.
+     */
+    public synchronized void merge(RequestQueryStats other) {
+        statements += other.statements;
+        jdbcNanos += other.jdbcNanos;
+        entitiesLoaded += other.entitiesLoaded;
+        collectionsFetched += other.collectionsFetched;
+        connectionHeldNanos += other.connectionHeldNanos;
+        connectionsAcquired += other.connectionsAcquired;
+        connectionAcquireNanos += other.connectionAcquireNanos;
+    }
+
+    void addStatement() {
+        statements++;
+    }
+
+    void addJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    void addEntityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void addCollectionFetched() {
+        collectionsFetched++;
+    }
+
+    void addConnectionHeldTime(long nanos) {
+        connectionHeldNanos += nanos;
+    }
+
+    void addConnectionAcquired(long acquireNanos) {
+        connectionsAcquired++;
+        connectionAcquireNanos += acquireNanos;
+    }
+}
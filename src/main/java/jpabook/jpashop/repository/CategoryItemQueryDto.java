@@ -0,0 +1,15 @@
+package jpabook.jpashop.repository;
+
+import lombok.Data;
+
+/**
+ * 카테고리 상품 목록 한 건(필요한 컬럼만 조회)
+ */
+@Data
+public class CategoryItemQueryDto {
+
+    private final Long id;
+    private final String name;
+    private final int price;
+    private final int stockQuantity;
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.repository;
+
+import lombok.Data;
+
+/**
+ * 카테고리 한 건(계층 조회 결과) - depth 는 조회 기준 카테고리로부터의 거리
+ */
+@Data
+public class CategoryQueryDto {
+
+    private final Long id;
+    private final String name;
+    private final Long parentId;
+    private final int depth;
+}
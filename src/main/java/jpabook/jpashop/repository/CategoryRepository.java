@@ -0,0 +1,163 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.CategoryClosure;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 카테고리 저장소
+ * - 계층 조회는 parent/child 를 한 단계씩 따라가지 않고 클로저 테이블(category_closure)과 조인 한번으로 조회한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 새 카테고리의 클로저 행 추가 - 자기 자신(거리 0) + 부모의 모든 조상(거리 + 1)을 INSERT ... SELECT 한번으로 추가
+     * - 부모는 이미 클로저 행이 있어야 한다.(CategoryService 로만 카테고리를 추가)
+     * - 네이티브 INSERT 는 기본적으로 2차 캐시 전체를 비우므로 영향받는 엔티티를 CategoryClosure 로 한정한다.
+     */
+    public void insertClosure(Long categoryId, Long parentId) {
+        String sql = "insert into category_closure (ancestor_id, descendant_id, depth)" +
+                " select cast(:categoryId as bigint), cast(:categoryId as bigint), 0";
+        if (parentId != null) {
+            sql += " union all" +
+                    " select cc.ancestor_id, cast(:categoryId as bigint), cc.depth + 1" +
+                    " from category_closure cc" +
+                    " where cc.descendant_id = :parentId";
+        }
+
+        NativeQuery<?> query = em.createNativeQuery(sql)
+                .setParameter("categoryId", categoryId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(CategoryClosure.class);
+        if (parentId != null) {
+            query.setParameter("parentId", parentId);
+        }
+        query.executeUpdate();
+    }
+
+    /**
+     * 서브트리 전체(자기 자신 포함)를 쿼리 한번으로 조회 - 거리, id 순(부모가 자식보다 먼저 나온다)
+     */
+    public List<CategoryQueryDto> findSubtree(Long categoryId) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.CategoryQueryDto(c.id, c.name, c.parent.id, cc.depth)" +
+                                " from CategoryClosure cc" +
+                                " join Category c on c.id = cc.descendantId" +
+                                " where cc.ancestorId = :categoryId" +
+                                " order by cc.depth, c.id", CategoryQueryDto.class)
+                .setParameter("categoryId", categoryId)
+                .getResultList();
+    }
+
+    /**
+     * 루트부터 자기 자신까지 조상 전체를 쿼리 한번으로 조회 - 루트가 먼저 나온다.
+     */
+    public List<CategoryQueryDto> findAncestors(Long categoryId) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.CategoryQueryDto(c.id, c.name, c.parent.id, cc.depth)" +
+                                " from CategoryClosure cc" +
+                                " join Category c on c.id = cc.ancestorId" +
+                                " where cc.descendantId = :categoryId" +
+                                " order by cc.depth desc", CategoryQueryDto.class)
+                .setParameter("categoryId", categoryId)
+                .getResultList();
+    }
+
+    /**
+     * 전체 카테고리(메모리 트리 생성용) - depth 는 사용하지 않으므로 0
+     */
+    public List<CategoryQueryDto> findAllRows() {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.CategoryQueryDto(c.id, c.name, c.parent.id, 0)" +
+                                " from Category c" +
+                                " order by c.id", CategoryQueryDto.class)
+                .getResultList();
+    }
+
+    /**
+     * 카테고리(하위 카테고리 포함)의 상품 목록 - 상품 id 순서 키셋 페이징, 필요한 컬럼만 조회
+     * - category_item 에서 시작한다. 하위 카테고리 id 는 클로저 테이블로 찾고, 카테고리별로 PK(category_id, item_id) 범위만 읽는다.
+     *   상품 테이블 전체를 PK 순서로 훑지 않으므로 상품이 적은 카테고리도 비용은 그 카테고리의 상품 수에 비례한다.
+     * - 여러 하위 카테고리에 속한 상품은 distinct 로 한번만 나온다.
+     * - 조인 테이블은 JPQL 에서 엔티티처럼 다룰 수 없으므로 네이티브 쿼리로 조회한다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<CategoryItemQueryDto> findItemsInSubtree(Long categoryId, Long lastItemId, int limit) {
+        List<Object[]> rows = em.createNativeQuery(
+                        "select distinct ci.item_id, i.name, i.price, i.stock_quantity" +
+                                " from category_item ci" +
+                                " join item i on i.item_id = ci.item_id" +
+                                " where ci.category_id in (" +
+                                "   select cc.descendant_id from category_closure cc" +
+                                "   where cc.ancestor_id = :categoryId)" +
+                                " and ci.item_id > :lastItemId" +
+                                " order by ci.item_id")
+                .setParameter("categoryId", categoryId)
+                .setParameter("lastItemId", lastItemId == null ? 0L : lastItemId)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<CategoryItemQueryDto> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            items.add(new CategoryItemQueryDto(((Number) row[0]).longValue(), (String) row[1],
+                    ((Number) row[2]).intValue(), ((Number) row[3]).intValue()));
+        }
+        return items;
+    }
+
+    /**
+     * 카테고리에 상품 추가 - 이미 있으면 아무것도 하지 않는다.
+     * - Category.items 컬렉션을 로딩하지 않고 조인 테이블에 INSERT 한번
+     * - 네이티브 쿼리의 영향 범위를 category_item 으로 한정해서 Category.items, Item.categories 컬렉션 캐시만 비운다.
+     * - 같은 영속성 컨텍스트에 이미 초기화된 Category.items 가 있으면 반영되지 않는다.
+     * @return 추가된 row 수(0 또는 1)
+     */
+    public int addItem(Long categoryId, Long itemId) {
+        return em.createNativeQuery(
+                        "insert into category_item (category_id, item_id)" +
+                                " select c.id, cast(:itemId as bigint)" +
+                                " from category c" +
+                                " where c.id = :categoryId" +
+                                " and not exists (" +
+                                "   select 1 from category_item" +
+                                "   where category_id = :categoryId and item_id = :itemId)")
+                .setParameter("categoryId", categoryId)
+                .setParameter("itemId", itemId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("category_item")
+                .executeUpdate();
+    }
+
+    /**
+     * 카테고리에서 상품 제거 - 조인 테이블 DELETE 한번(캐시 처리는 addItem 과 같음)
+     * @return 삭제된 row 수(0 또는 1)
+     */
+    public int removeItem(Long categoryId, Long itemId) {
+        return em.createNativeQuery(
+                        "delete from category_item" +
+                                " where category_id = :categoryId and item_id = :itemId")
+                .setParameter("categoryId", categoryId)
+                .setParameter("itemId", itemId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("category_item")
+                .executeUpdate();
+    }
+}
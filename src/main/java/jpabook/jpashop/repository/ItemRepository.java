@@ -1,10 +1,12 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,4 +40,70 @@ public class ItemRepository {
     public List<Item> findAll() {
         return em.createQuery("select i from Item i", Item.class).getResultList();
     }
+
+    /**
+     * 상품 목록용 컬럼만 조회(메모리 카탈로그 생성) - [id, 엔티티 타입(Class), name, price, stockQuantity]
+     */
+    public List<Object[]> findAllCatalogRows() {
+        return em.createQuery(
+                        "select i.id, type(i), i.name, i.price, i.stockQuantity" +
+                                " from Item i" +
+                                " order by i.id", Object[].class)
+                .getResultList();
+    }
+
+    /**
+     * 상품 id 목록의 목록용 컬럼 - 삭제된 상품은 결과에 없다.
+     */
+    public List<Object[]> findCatalogRows(Collection<Long> ids) {
+        return em.createQuery(
+                        "select i.id, type(i), i.name, i.price, i.stockQuantity" +
+                                " from Item i" +
+                                " where i.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * 상품별 현재 재고 - [id, stockQuantity]
+     */
+    public List<Object[]> findStockQuantities(Collection<Long> ids) {
+        return em.createQuery(
+                        "select i.id, i.stockQuantity" +
+                                " from Item i" +
+                                " where i.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * 재고가 threshold 미만인 상품을 재고가 적은 순서로 limit 건 조회(대시보드)
+     */
+    public List<Item> findLowStock(int threshold, int limit) {
+        return em.createQuery(
+                        "select i from Item i" +
+                                " where i.stockQuantity < :threshold" +
+                                " order by i.stockQuantity, i.id", Item.class)
+                .setParameter("threshold", threshold)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 재고 변경용 조회 - row 에 쓰기 락(select ... for update)을 잡고 조회한다.
+     * - 락 없이 읽은 엔티티를 수정(read-modify-write)하면 동시 주문 시 갱신 손실(lost update)로 재고보다 많이 팔린다.
+     * - 락은 커밋까지 유지되므로 같은 상품의 다른 주문/취소는 이 트랜잭션이 끝날 때까지 기다린다.
+     * - 재고 변경은 엔티티(Item.removeStock / addStock)로 하므로 2차 캐시는 해당 상품 항목만 갱신된다.
+     *   (벌크 UPDATE 는 Item 캐시 영역 전체를 비움)
+     * - 이미 영속성 컨텍스트에 있는 엔티티는 값을 다시 읽지 않으므로 트랜잭션에서 상품을 처음 읽을 때 호출한다.
+     * - 여러 상품을 잠글 때는 교착 상태가 생기지 않도록 항상 id 순서로 호출한다.
+     */
+    public Item findForUpdate(Long itemId) {
+        return em.createQuery("select i from Item i where i.id = :itemId", Item.class)
+                .setParameter("itemId", itemId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
 }
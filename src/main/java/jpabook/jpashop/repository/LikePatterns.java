@@ -0,0 +1,43 @@
+package jpabook.jpashop.repository;
+
+/**
+ * LIKE 검색 패턴
+ * - 검색어의 %, _ 를 그대로 두면 와일드카드가 되어 인덱스 범위 검색이 아니라 전체 비교가 될 수 있으므로 escape 한다.
+ * - 쿼리에는 `like :pattern escape '!'` 로 사용한다.(역슬래시는 DB/JPQL 마다 문자열 리터럴 처리가 달라서 사용하지 않음)
+ */
+public final class LikePatterns {
+
+    public static final char ESCAPE = '!';
+
+    private LikePatterns() {
+    }
+
+    /**
+     * prefix 로 시작하는 값 - 'prefix%'(앞부분이 고정되므로 인덱스 범위 검색)
+     */
+    public static String startsWith(String prefix) {
+        return escape(prefix) + '%';
+    }
+
+    /**
+     * keyword 를 포함하는 값 - '%keyword%'(앞부분이 고정되지 않으므로 전체 비교)
+     */
+    public static String contains(String keyword) {
+        return '%' + escape(keyword) + '%';
+    }
+
+    /**
+     * 검색어의 %, _, ! 앞에 ESCAPE 를 붙여서 글자 그대로 비교되게 한다.
+     */
+    public static String escape(String keyword) {
+        StringBuilder escaped = new StringBuilder(keyword.length() + 4);
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -3,9 +3,12 @@ package jpabook.jpashop.repository;
 import jakarta.persistence.EntityManager;
 import jpabook.jpashop.domain.Member;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -17,6 +20,18 @@ public class MemberRepository {
         em.persist(member);
     }
 
+    /**
+     * 저장 후 바로 flush 해서 유니크 제약조건 위반을 호출한 곳에서 확인할 수 있게 한다.
+     */
+    public void saveAndFlush(Member member) {
+        em.persist(member);
+        em.flush();
+    }
+
+    public void flush() {
+        em.flush();
+    }
+
     public Member findOne(Long id) {
         return em.find(Member.class, id);
     }
@@ -31,4 +46,33 @@ public class MemberRepository {
                 .setParameter("username", username)
                 .getResultList();
     }
+
+    /**
+     * 이미 존재하는 회원 이름만 조회(일괄 등록 중복 검사용)
+     */
+    public List<String> findUsernamesIn(Collection<String> usernames) {
+        return em.createQuery("select m.username from Member m where m.username in :usernames", String.class)
+                .setParameter("usernames", usernames)
+                .getResultList();
+    }
+
+    /**
+     * 전체 회원 이름을 커서로 읽는다.(트랜잭션 안에서 사용하고 반드시 close)
+     */
+    public Stream<String> streamUsernames(int fetchSize) {
+        return em.createQuery("select m.username from Member m", String.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * 전체 회원 (id, 이름)을 커서로 읽는다.(트랜잭션 안에서 사용하고 반드시 close)
+     */
+    public Stream<Object[]> streamIdAndUsernames(int fetchSize) {
+        return em.createQuery("select m.id, m.username from Member m", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
 }
@@ -5,10 +5,12 @@ import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,12 +18,33 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderRepository {
 
+    private static final int FLUSH_INTERVAL = 100; // hibernate.jdbc.batch_size 와 동일하게 맞춤
+
     private final EntityManager em;
 
     public void save(Order order) {
         em.persist(order);
     }
 
+    /**
+     * 주문 여러 건 저장
+     * - Delivery, OrderItem 은 cascade 로 함께 저장되고, order_inserts 설정으로 테이블별 INSERT 가 JDBC 배치로 묶인다.
+     * - FLUSH_INTERVAL 건마다 flush + clear 해서 영속성 컨텍스트가 계속 커지지 않게 한다.
+     * - clear 하므로 저장 후 넘겨준 주문(과 연관 엔티티)은 준영속 상태가 된다.
+     */
+    public void saveAll(List<Order> orders) {
+        int count = 0;
+        for (Order order : orders) {
+            em.persist(order);
+            if (++count % FLUSH_INTERVAL == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
     public Order findOne(Long id) {
         return em.find(Order.class, id);
     }
@@ -65,7 +88,6 @@ public class OrderRepository {
         return query.getResultList();
     }
 
-
     /**
      * JPA Criteria
      */
@@ -115,6 +137,53 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    /**
+     * 키셋(커서) 페이징 - order_id 기준
+     * - offset 페이징은 앞 페이지의 row 를 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려진다.
+     * - 마지막으로 조회한 order_id 다음부터 PK 인덱스로 바로 찾아가므로 어느 페이지든 비용이 같다.
+     * - 컬렉션(orderItems)은 fetch join 하지 않고 default_batch_fetch_size(IN 쿼리)로 조회한다.
+     */
+    public List<Order> findAllWithMemberDeliveryAfterId(Long lastOrderId, int limit) {
+        String jpql = "select o from Order o" +
+                " join fetch o.member m" +
+                " join fetch o.delivery d";
+        if (lastOrderId != null) {
+            jpql += " where o.id > :lastOrderId";
+        }
+        jpql += " order by o.id";
+
+        TypedQuery<Order> query = em.createQuery(jpql, Order.class)
+                .setMaxResults(limit);
+        if (lastOrderId != null) {
+            query.setParameter("lastOrderId", lastOrderId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * 키셋(커서) 페이징 - (orderDate, order_id) 기준
+     * - orderDate 는 중복될 수 있으므로 order_id 를 함께 비교해서 순서를 유일하게 만든다.
+     * - (order_date, order_id) 인덱스를 사용한다.
+     */
+    public List<Order> findAllWithMemberDeliveryAfterOrderDate(LocalDateTime lastOrderDate, Long lastOrderId, int limit) {
+        String jpql = "select o from Order o" +
+                " join fetch o.member m" +
+                " join fetch o.delivery d";
+        if (lastOrderDate != null) {
+            jpql += " where o.orderDate > :lastOrderDate" +
+                    " or (o.orderDate = :lastOrderDate and o.id > :lastOrderId)";
+        }
+        jpql += " order by o.orderDate, o.id";
+
+        TypedQuery<Order> query = em.createQuery(jpql, Order.class)
+                .setMaxResults(limit);
+        if (lastOrderDate != null) {
+            query.setParameter("lastOrderDate", lastOrderDate)
+                    .setParameter("lastOrderId", lastOrderId);
+        }
+        return query.getResultList();
+    }
+
     public List<Order> findAllWithItem() {
         return em.createQuery(
                 "select o from Order o" +
@@ -0,0 +1,142 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 주문 요약(order_summary) 저장소
+ * - 목록 조회는 조인 없이 order_summary 한 테이블만 인덱스(PK, member_id, order_status)로 읽는다.
+ * - 상태 변경은 엔티티 조회 없이 UPDATE 한번으로 반영한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryRepository {
+
+    private final EntityManager em;
+
+    public void save(OrderSummary orderSummary) {
+        em.persist(orderSummary);
+    }
+
+    public OrderSummary findOne(Long orderId) {
+        return em.find(OrderSummary.class, orderId);
+    }
+
+    /**
+     * 최신 주문 순으로 최대 limit 건, status 가 null 이면 전체 상태
+     */
+    public List<OrderSummary> findAll(OrderStatus status, int limit) {
+        String jpql = "select s from OrderSummary s";
+        if (status != null) {
+            jpql += " where s.orderStatus = :status";
+        }
+        jpql += " order by s.orderId desc";
+
+        TypedQuery<OrderSummary> query = em.createQuery(jpql, OrderSummary.class)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * 회원 id 목록으로 검색(idx_order_summary_member_id)
+     * - 회원 순위(rankedMemberIds 순서) -> 최신 주문 순으로 DB 에서 정렬한 뒤 limit 건을 자른다.
+     */
+    public List<OrderSummary> findAllByMemberIds(List<Long> rankedMemberIds, OrderStatus status, int limit) {
+        String jpql = "select s from OrderSummary s" +
+                " where s.memberId in :memberIds";
+        if (status != null) {
+            jpql += " and s.orderStatus = :status";
+        }
+        jpql += " order by " + RankOrder.caseExpression("s.memberId", rankedMemberIds.size()) + ", s.orderId desc";
+
+        TypedQuery<OrderSummary> query = em.createQuery(jpql, OrderSummary.class)
+                .setParameter("memberIds", rankedMemberIds)
+                .setMaxResults(limit);
+        RankOrder.bind(query, rankedMemberIds);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * 회원 이름에 memberName 이 포함된 주문(MemberNameIndex 와 같은 부분 문자열 검색), 최신 주문 순
+     * - 검색어의 %, _ 는 와일드카드가 아니라 글자로 비교한다.(LikePatterns)
+     */
+    public List<OrderSummary> findAllByMemberName(String memberName, OrderStatus status, int limit) {
+        String jpql = "select s from OrderSummary s" +
+                " where s.memberName like :memberName escape '!'";
+        if (status != null) {
+            jpql += " and s.orderStatus = :status";
+        }
+        jpql += " order by s.orderId desc";
+
+        TypedQuery<OrderSummary> query = em.createQuery(jpql, OrderSummary.class)
+                .setParameter("memberName", LikePatterns.contains(memberName))
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
+    }
+
+    public int updateOrderStatus(Long orderId, OrderStatus orderStatus) {
+        return em.createQuery("update OrderSummary s set s.orderStatus = :orderStatus where s.orderId = :orderId")
+                .setParameter("orderStatus", orderStatus)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    public int updateDeliveryStatus(Long orderId, DeliveryStatus deliveryStatus) {
+        return em.createQuery("update OrderSummary s set s.deliveryStatus = :deliveryStatus where s.orderId = :orderId")
+                .setParameter("deliveryStatus", deliveryStatus)
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+
+    /**
+     * 회원 이름 변경 - 해당 회원의 요약 row 를 UPDATE 한번으로 변경(idx_order_summary_member_id)
+     */
+    public int updateMemberName(Long memberId, String memberName) {
+        return em.createQuery("update OrderSummary s set s.memberName = :memberName where s.memberId = :memberId")
+                .setParameter("memberName", memberName)
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+    }
+
+    /**
+     * 전체 재생성 - 전체 삭제 후 원본 테이블에서 INSERT ... SELECT 한번으로 다시 채운다.(DB 안에서 처리, 엔티티 로딩 없음)
+     * - 네이티브 UPDATE 는 기본적으로 2차 캐시 전체를 비우므로 영향받는 엔티티를 OrderSummary 로 한정한다.
+     * @return 생성된 요약 row 수
+     */
+    public int rebuild() {
+        em.createQuery("delete from OrderSummary").executeUpdate();
+        return em.createNativeQuery(
+                        "insert into order_summary" +
+                                " (order_id, member_id, member_name, city, street, zipcode," +
+                                " order_date, order_status, delivery_status, item_count, total_price)" +
+                                " select o.order_id, m.member_id, m.username, d.city, d.street, d.zipcode," +
+                                " o.order_date, o.status, d.status, count(oi.order_item_id)," +
+                                " coalesce(sum(cast(oi.order_price as bigint) * oi.count), 0)" +
+                                " from orders o" +
+                                " join member m on m.member_id = o.member_id" +
+                                " join delivery d on d.delivery_id = o.delivery_id" +
+                                " left join order_item oi on oi.order_id = o.order_id" +
+                                " group by o.order_id, m.member_id, m.username, d.city, d.street, d.zipcode," +
+                                " o.order_date, o.status, d.status")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(OrderSummary.class)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,34 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+/**
+ * 애플리케이션에서 정한 순위(예: 회원 이름 검색 관련도) 순서로 DB 에서 정렬
+ * - `order by case m.id when :rank0 then 0 when :rank1 then 1 ... end` 로 정렬해야 setMaxResults(limit) 가
+ *   순위 정렬 후에 적용된다.(조회 후 애플리케이션에서 정렬하면 limit 에서 순위가 높은 row 가 잘릴 수 있음)
+ * - 순위 목록 크기만큼 파라미터를 쓰므로 순위 목록은 작게(최대 수백 건) 유지한다.
+ */
+public final class RankOrder {
+
+    private RankOrder() {
+    }
+
+    /**
+     * @param path 순위 대상 경로(예: m.id)
+     */
+    public static String caseExpression(String path, int size) {
+        StringBuilder expression = new StringBuilder("case ").append(path);
+        for (int i = 0; i < size; i++) {
+            expression.append(" when :rank").append(i).append(" then ").append(i);
+        }
+        return expression.append(" end").toString();
+    }
+
+    public static void bind(Query query, List<Long> rankedIds) {
+        for (int i = 0; i < rankedIds.size(); i++) {
+            query.setParameter("rank" + i, rankedIds.get(i));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.repository.item.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.repository.LikePatterns;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 상품 조회 전용(화면/API 에 필요한 컬럼만 DTO 로 조회)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemQueryRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 상품명 prefix 검색(자동완성) - idx_item_name 범위 검색, 이름 순으로 최대 limit 건
+     */
+    public List<ItemQueryDto> findByNamePrefix(String prefix, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.item.query.ItemQueryDto(i.id, i.name, i.price, i.stockQuantity)" +
+                                " from Item i" +
+                                " where i.name like :pattern escape '!'" +
+                                " order by i.name, i.id", ItemQueryDto.class)
+                .setParameter("pattern", LikePatterns.startsWith(prefix))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,54 @@
+package jpabook.jpashop.repository.member.query;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jpabook.jpashop.repository.LikePatterns;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 회원 조회 전용(화면/API 에 필요한 컬럼만 DTO 로 조회)
+ * - 엔티티가 아니므로 영속성 컨텍스트에 올라가지 않고, 주소/orders 프록시도 만들지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberQueryRepository {
+
+    private final EntityManager em;
+
+    /**
+     * member_id 기준 커서 페이징(PK 인덱스로 바로 시작 위치를 찾으므로 offset 처럼 앞 row 를 건너뛰지 않는다)
+     * - lastMemberId 가 null 이면 처음부터
+     */
+    public List<MemberQueryDto> findMembersAfterId(Long lastMemberId, int limit) {
+        String jpql = "select new jpabook.jpashop.repository.member.query.MemberQueryDto(m.id, m.username)" +
+                " from Member m";
+        if (lastMemberId != null) {
+            jpql += " where m.id > :lastMemberId";
+        }
+        jpql += " order by m.id";
+
+        TypedQuery<MemberQueryDto> query = em.createQuery(jpql, MemberQueryDto.class)
+                .setMaxResults(limit);
+        if (lastMemberId != null) {
+            query.setParameter("lastMemberId", lastMemberId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * 회원 이름 prefix 검색(자동완성) - username 유니크 인덱스(uk_member_username) 범위 검색, 이름 순으로 최대 limit 건
+     */
+    public List<MemberQueryDto> findByUsernamePrefix(String prefix, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.member.query.MemberQueryDto(m.id, m.username)" +
+                                " from Member m" +
+                                " where m.username like :pattern escape '!'" +
+                                " order by m.username", MemberQueryDto.class)
+                .setParameter("pattern", LikePatterns.startsWith(prefix))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
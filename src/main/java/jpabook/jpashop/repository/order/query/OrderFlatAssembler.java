@@ -0,0 +1,41 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 플랫 데이터(OrderFlatDto)를 주문(OrderQueryDto) + 주문상품(OrderItemQueryDto) 구조로 묶는다.
+ * - 입력 row 는 order_id 순서로 정렬되어 있어야 한다.(같은 주문의 row 가 연속으로 나온다)
+ * - 인접한 row 의 order_id 만 비교하면서 한번만 순회하므로 groupingBy 처럼 DTO 전체를 해싱하거나 다시 만들지 않는다.
+ * - 결과 엔티티 하나당 객체 하나만 만들고, 조회 순서(order_id 순)를 그대로 유지한다.
+ * - maxOrders 개의 주문이 채워지면 남은 row 는 읽지 않는다.(조인 row 가 아닌 주문 단위 페이징)
+ */
+public final class OrderFlatAssembler {
+
+    private OrderFlatAssembler() {
+    }
+
+    public static List<OrderQueryDto> assemble(Iterator<OrderFlatDto> rows, int maxOrders) {
+        List<OrderQueryDto> result = new ArrayList<>();
+        OrderQueryDto current = null;
+
+        while (rows.hasNext()) {
+            OrderFlatDto row = rows.next();
+
+            if (current == null || !current.getOrderId().equals(row.getOrderId())) {
+                if (result.size() == maxOrders) {
+                    break;
+                }
+                current = new OrderQueryDto(row.getOrderId(), row.getName(), row.getOrderDate(),
+                        row.getOrderStatus(), row.getAddress(), new ArrayList<>());
+                result.add(current);
+            }
+
+            current.getOrderItems().add(new OrderItemQueryDto(row.getOrderId(),
+                    row.getItemName(), row.getOrderPrice(), row.getCount()));
+        }
+
+        return result;
+    }
+}
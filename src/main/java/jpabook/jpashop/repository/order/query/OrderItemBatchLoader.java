@@ -0,0 +1,67 @@
+package jpabook.jpashop.repository.order.query;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 id 목록으로 orderItem 을 IN 쿼리로 조회(V5 컬렉션 조회)
+ * - id 목록을 한번에 넣으면 IN 절이 너무 커져서 실행계획 캐시를 못 쓰고 DB 파라미터 개수 제한에 걸릴 수 있다.
+ * - chunkSize 단위로 나눠서 조회하고, IN 절 파라미터 개수는 hibernate.query.in_clause_parameter_padding 설정으로
+ *   2의 거듭제곱 크기로 맞춰서 같은 SQL(실행계획)을 재사용한다.
+ * - 청크는 호출 스레드(현재 트랜잭션)에서 순서대로 조회한다.
+ *   트랜잭션 안에서 다른 커넥션으로 동시에 조회하면 커넥션을 쥔 채 풀에서 더 가져가므로 풀이 고갈되면 교착 상태가 된다.
+ *   동시 조회가 필요하면 트랜잭션 밖에서 ParallelReadExecutor 로 나눈다.
+ */
+@Component
+public class OrderItemBatchLoader {
+
+    private final EntityManager em;
+    private final int chunkSize;
+
+    public OrderItemBatchLoader(EntityManager em, @Value("${jpashop.query.in-chunk-size:100}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("in-chunk-size 는 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return 주문 id 별 orderItem 목록, orderItem 이 없는 주문은 빈 목록
+     */
+    public Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = HashMap.newHashMap(orderIds.size());
+        if (orderIds.isEmpty()) {
+            return orderItemMap;
+        }
+
+        for (int from = 0; from < orderIds.size(); from += chunkSize) {
+            List<Long> ids = orderIds.subList(from, Math.min(from + chunkSize, orderIds.size()));
+            for (OrderItemQueryDto orderItem : findOrderItems(ids)) {
+                orderItemMap.computeIfAbsent(orderItem.getOrderId(), id -> new ArrayList<>()).add(orderItem);
+            }
+        }
+
+        for (Long orderId : orderIds) {
+            orderItemMap.putIfAbsent(orderId, Collections.emptyList());
+        }
+        return orderItemMap;
+    }
+
+    private List<OrderItemQueryDto> findOrderItems(List<Long> orderIds) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)" +
+                                " from OrderItem oi " +
+                                " join oi.item i" +
+                                " where oi.order.id in :orderIds", OrderItemQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+}
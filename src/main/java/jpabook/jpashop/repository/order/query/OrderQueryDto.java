@@ -33,4 +33,24 @@ public class OrderQueryDto {
         this.address = address;
         this.orderItems = orderItems;
     }
+
+    /**
+     * 주문상품 종류 수 - 이미 조회한 orderItems(DTO)로 계산(추가 쿼리 없음)
+     */
+    public int getItemCount() {
+        return orderItems == null ? 0 : orderItems.size();
+    }
+
+    /**
+     * 주문 금액 합계 - 이미 조회한 orderItems(DTO)로 계산, int 범위를 넘을 수 있으므로 long
+     */
+    public long getTotalPrice() {
+        long totalPrice = 0;
+        if (orderItems != null) {
+            for (OrderItemQueryDto orderItem : orderItems) {
+                totalPrice += (long) orderItem.getOrderPrice() * orderItem.getCount();
+            }
+        }
+        return totalPrice;
+    }
 }
@@ -1,12 +1,17 @@
 package jpabook.jpashop.repository.order.query;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * VIEW, API 종속적인 DTO 직접 조회 방식은 이렇게 별도의 Repository로 분리하는 것이 좋다.
@@ -17,6 +22,7 @@ import java.util.stream.Collectors;
 public class OrderQueryRepository {
 
     private final EntityManager em;
+    private final OrderItemBatchLoader orderItemBatchLoader;
 
     /**
      * ToOne(N:1, 1:1) 관계들을 먼저 조회하고, ToMany(1:N) 관계는 각각 별도로 처리한다
@@ -54,16 +60,8 @@ public class OrderQueryRepository {
                 .map(o -> o.getOrderId())
                 .collect(Collectors.toList());
 
-        List<OrderItemQueryDto> orderItems = em.createQuery(
-                        "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)" +
-                                " from OrderItem oi " +
-                                " join oi.item i" +
-                                " where oi.order.id in :orderIds", OrderItemQueryDto.class)
-                .setParameter("orderIds", toOrderIds)
-                .getResultList();
-
         //orderItem 컬렉션을 MAP 한방에 조회
-        Map<Long, List<OrderItemQueryDto>> findOrderItemMap = orderItems.stream().collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+        Map<Long, List<OrderItemQueryDto>> findOrderItemMap = findOrderItemMap(toOrderIds);
 
         //루프를 돌면서 컬렉션 추가(추가 쿼리 실행X)
         result.forEach(o -> o.setOrderItems(findOrderItemMap.get(o.getOrderId())));
@@ -72,6 +70,54 @@ public class OrderQueryRepository {
 
     }
 
+    /**
+     * 주문 id 목록에 해당하는 orderItem 을 IN 쿼리로 조회해서 주문 id 별로 묶는다.
+     * - id 가 많으면 청크 단위로 나눠서 조회한다.(OrderItemBatchLoader 참고)
+     */
+    public Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
+        return orderItemBatchLoader.findOrderItemMap(orderIds);
+    }
+
+    /**
+     * 주문별 주문상품 종류 수, 금액 합계를 DB 에서 집계(group by) - orderItems 컬렉션을 로딩하지 않는다.
+     * - orderPrice * count 는 int 곱셈이므로 long 으로 변환해서 곱해야 큰 주문에서 overflow 가 나지 않는다.
+     */
+    public Map<Long, OrderTotalQueryDto> findOrderTotalMap(Collection<Long> orderIds) {
+        Map<Long, OrderTotalQueryDto> totalMap = HashMap.newHashMap(orderIds.size());
+        if (orderIds.isEmpty()) {
+            return totalMap;
+        }
+
+        List<OrderTotalQueryDto> totals = em.createQuery(
+                        "select new jpabook.jpashop.repository.order.query.OrderTotalQueryDto(oi.order.id, count(oi), sum(cast(oi.orderPrice as Long) * oi.count))" +
+                                " from OrderItem oi" +
+                                " where oi.order.id in :orderIds" +
+                                " group by oi.order.id", OrderTotalQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+        for (OrderTotalQueryDto total : totals) {
+            totalMap.put(total.getOrderId(), total);
+        }
+        return totalMap;
+    }
+
+    /**
+     * ToOne 관계를 order_id 순서로 스트리밍 조회(forward-only 커서)
+     * - getResultList()처럼 전체 결과를 List 로 만들지 않고, fetchSize 만큼씩 DB에서 가져온다.
+     * - 반환된 Stream 은 트랜잭션 안에서 사용하고 반드시 close 해야 한다.(try-with-resources)
+     */
+    public Stream<OrderQueryDto> streamOrders(int fetchSize) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.order.query.OrderQueryDto(o.id, m.username, o.orderDate, o.status, d.address)" +
+                                " from Order o" +
+                                " join o.member m" +
+                                " join o.delivery d" +
+                                " order by o.id", OrderQueryDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
     /**
      * 1:N 관계(컬렉션)를 제외한 나머지를 한번에 조회
      */
@@ -104,7 +150,37 @@ public class OrderQueryRepository {
                                 " join o.member m" +
                                 " join o.delivery d" +
                                 " join o.orderItems oi" +
-                                " join oi.item i", OrderFlatDto.class)
+                                " join oi.item i" +
+                                " order by o.id", OrderFlatDto.class)
                 .getResultList();
     }
+
+    /**
+     * 플랫 데이터를 order_id 순서로 스트리밍 조회하면서 바로 주문 단위로 묶는다.(OrderFlatAssembler)
+     * - lastOrderId 다음 주문부터 limit 개의 주문을 반환한다.(조인 row 수가 아닌 주문 수 기준 페이징)
+     * - limit 개의 주문이 채워지면 커서를 닫으므로 나머지 row 는 가져오지 않는다.
+     * - 스트림은 트랜잭션 안에서 읽어야 한다.(OrderQueryService)
+     */
+    public List<OrderQueryDto> findAllByDto_flat(Long lastOrderId, int limit) {
+        String jpql = "select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.username, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
+                " from Order o" +
+                " join o.member m" +
+                " join o.delivery d" +
+                " join o.orderItems oi" +
+                " join oi.item i";
+        if (lastOrderId != null) {
+            jpql += " where o.id > :lastOrderId";
+        }
+        jpql += " order by o.id";
+
+        TypedQuery<OrderFlatDto> query = em.createQuery(jpql, OrderFlatDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 100);
+        if (lastOrderId != null) {
+            query.setParameter("lastOrderId", lastOrderId);
+        }
+
+        try (Stream<OrderFlatDto> rows = query.getResultStream()) {
+            return OrderFlatAssembler.assemble(rows.iterator(), limit);
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.order.query;
+
+import lombok.Data;
+
+/**
+ * 주문별 집계(주문상품 종류 수, 주문 금액 합계) - DB 에서 group by 로 계산
+ */
+@Data
+public class OrderTotalQueryDto {
+
+    public static final OrderTotalQueryDto EMPTY = new OrderTotalQueryDto(null, 0L, 0L);
+
+    private final Long orderId;
+    private final int itemCount;
+    private final long totalPrice; // int 범위를 넘을 수 있으므로 long
+
+    public OrderTotalQueryDto(Long orderId, Long itemCount, Long totalPrice) {
+        this.orderId = orderId;
+        this.itemCount = itemCount.intValue();
+        this.totalPrice = totalPrice;
+    }
+}
@@ -14,12 +14,17 @@ public class OrderSimpleQueryDto {
     private LocalDateTime orderDate; //주문시간
     private OrderStatus orderStatus;
     private Address address;
+    private int itemCount; // 주문상품 종류 수
+    private long totalPrice; // 주문 금액 합계
 
-    public OrderSimpleQueryDto(Long id, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address) {
+    public OrderSimpleQueryDto(Long id, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address,
+                               int itemCount, long totalPrice) {
         this.orderId = id;
         this.name = name;
         this.orderDate = orderDate;
         this.orderStatus = orderStatus;
         this.address = address;
+        this.itemCount = itemCount;
+        this.totalPrice = totalPrice;
     }
 }
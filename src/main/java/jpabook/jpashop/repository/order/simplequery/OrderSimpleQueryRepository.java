@@ -2,9 +2,12 @@ package jpabook.jpashop.repository.order.simplequery;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import jpabook.jpashop.domain.DeliveryStatus;
 import org.springframework.stereotype.Repository;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTO로 직접 조회하는 이 방식(V4)은 다른 곳에서 재사용 될 가능성이 낮고, 특정 케이스에 fix 되기 때문에,
@@ -20,13 +23,46 @@ public class OrderSimpleQueryRepository {
     * `select o from Order o`처럼 JPQL 의 select 절에서 조회할 수 있는 것은 엔티티나 값 타입(Embedded)만 바로 조회 가능하다.
     * 또한 V3 케이스처럼 조회된 엔티티를 생성자에 넘길 수 없다.
     * Order 엔티티와 OrderSimpleQueryDto 가 곧바로 매핑되지 않기 때문에 아래처럼 파라미터를 하나씩 모두 정확히 넘겨주어야 한다.
+    * 조회할 값은 모두 주문 요약(order_summary)에 있으므로 orders, member, delivery 를 조인하지 않고 한 테이블만 읽는다.
     */
     public List<OrderSimpleQueryDto> findOrderDtos() {
         return em.createQuery(
-                        "select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(o.id, m.username, o.orderDate, o.status, d.address)" +
-                                " from Order o" +
-                                " join o.member m" +
-                                " join o.delivery d", OrderSimpleQueryDto.class)
+                        "select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(s.orderId, s.memberName, s.orderDate, s.orderStatus, s.address, s.itemCount, s.totalPrice)" +
+                                " from OrderSummary s" +
+                                " order by s.orderId", OrderSimpleQueryDto.class)
                 .getResultList();
     }
+
+    /**
+     * 최근 주문 limit 건(대시보드) - 주문 요약 PK 역순
+     */
+    public List<OrderSimpleQueryDto> findRecentOrderDtos(int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto(s.orderId, s.memberName, s.orderDate, s.orderStatus, s.address, s.itemCount, s.totalPrice)" +
+                                " from OrderSummary s" +
+                                " order by s.orderId desc", OrderSimpleQueryDto.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 배송 상태별 건수(대시보드), 건수가 없는 상태는 0
+     */
+    public Map<DeliveryStatus, Long> countByDeliveryStatus() {
+        Map<DeliveryStatus, Long> counts = new EnumMap<>(DeliveryStatus.class);
+        for (DeliveryStatus status : DeliveryStatus.values()) {
+            counts.put(status, 0L);
+        }
+
+        List<Object[]> rows = em.createQuery(
+                        "select d.status, count(d)" +
+                                " from Delivery d" +
+                                " where d.status is not null" +
+                                " group by d.status", Object[].class)
+                .getResultList();
+        for (Object[] row : rows) {
+            counts.put((DeliveryStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
 }
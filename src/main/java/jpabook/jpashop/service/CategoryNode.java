@@ -0,0 +1,28 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 메모리 카테고리 트리의 노드(불변) - 한번 만들어지면 바뀌지 않으므로 여러 요청이 락 없이 같이 읽는다.
+ */
+@Getter
+public final class CategoryNode {
+
+    private final Long id;
+    private final String name;
+    private final int depth; // 루트는 0
+    @JsonIgnore
+    private final Long parentId;
+    private final List<CategoryNode> children;
+
+    CategoryNode(Long id, String name, Long parentId, int depth, List<CategoryNode> children) {
+        this.id = id;
+        this.name = name;
+        this.parentId = parentId;
+        this.depth = depth;
+        this.children = List.copyOf(children);
+    }
+}
@@ -0,0 +1,112 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.repository.CategoryItemQueryDto;
+import jpabook.jpashop.repository.CategoryQueryDto;
+import jpabook.jpashop.repository.CategoryRepository;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.event.CategoryChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 카테고리 등록/변경 - 클로저 테이블(category_closure)을 같은 트랜잭션에서 유지하고,
+ * 커밋되면 CategoryChangedEvent 로 메모리 트리(CategoryTree)를 다시 만든다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 카테고리 등록
+     * @param parentId 루트 카테고리면 null
+     */
+    @Transactional
+    public Long addCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+
+        if (parentId != null) {
+            Category parent = categoryRepository.findOne(parentId);
+            if (parent == null) {
+                throw new IllegalArgumentException("상위 카테고리가 없습니다. parentId=" + parentId);
+            }
+            parent.addChildCategory(category);
+        }
+
+        categoryRepository.save(category);
+        categoryRepository.insertClosure(category.getId(), parentId);
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return category.getId();
+    }
+
+    /**
+     * 카테고리 이름 변경
+     */
+    @Transactional
+    public void rename(Long categoryId, String name) {
+        Category category = categoryRepository.findOne(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("카테고리가 없습니다. categoryId=" + categoryId);
+        }
+        category.setName(name);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+    }
+
+    /**
+     * 서브트리(자기 자신 포함) - DB 에서 쿼리 한번
+     */
+    public List<CategoryQueryDto> findSubtree(Long categoryId) {
+        return categoryRepository.findSubtree(categoryId);
+    }
+
+    /**
+     * 루트부터 자기 자신까지 - DB 에서 쿼리 한번
+     */
+    public List<CategoryQueryDto> findAncestors(Long categoryId) {
+        return categoryRepository.findAncestors(categoryId);
+    }
+
+    /**
+     * 카테고리(하위 카테고리 포함) 상품 목록 - lastItemId 다음부터 limit 건
+     */
+    public List<CategoryItemQueryDto> findItems(Long categoryId, Long lastItemId, int limit) {
+        return categoryRepository.findItemsInSubtree(categoryId, lastItemId, limit);
+    }
+
+    /**
+     * 카테고리에 상품 추가 - 조인 테이블에 INSERT 한번(이미 있으면 무시)
+     */
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        validateCategoryAndItem(categoryId, itemId);
+        categoryRepository.addItem(categoryId, itemId);
+    }
+
+    /**
+     * 카테고리에서 상품 제거 - 조인 테이블에서 DELETE 한번
+     */
+    @Transactional
+    public void removeItem(Long categoryId, Long itemId) {
+        categoryRepository.removeItem(categoryId, itemId);
+    }
+
+    private void validateCategoryAndItem(Long categoryId, Long itemId) {
+        if (categoryRepository.findOne(categoryId) == null) {
+            throw new IllegalArgumentException("카테고리가 없습니다. categoryId=" + categoryId);
+        }
+        if (itemRepository.findOne(itemId) == null) {
+            throw new IllegalArgumentException("상품이 없습니다. itemId=" + itemId);
+        }
+    }
+}
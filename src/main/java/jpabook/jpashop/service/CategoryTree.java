@@ -0,0 +1,195 @@
+package jpabook.jpashop.service;
+
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.repository.CategoryQueryDto;
+import jpabook.jpashop.repository.CategoryRepository;
+import jpabook.jpashop.service.event.CategoryChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 메모리 카테고리 트리(불변 스냅샷)
+ * - 전체 카테고리를 쿼리 한번으로 읽어서 불변 트리를 만들고 volatile 참조 하나로 통째로 교체한다.
+ *   읽는 쪽은 락 없이 항상 완성된 트리 하나만 본다.(만드는 중인 트리가 보이지 않는다)
+ * - 애플리케이션 시작 후 만들고, 카테고리 추가/변경이 커밋되면 CategoryChangedEvent 로 다시 만든다.
+ *   커밋한 요청 스레드는 다시 만들기를 예약만 하고 바로 돌아간다.(락, DB 조회 없음 - ItemCatalog 와 같은 방식)
+ * - 트리 갱신 스레드 하나가 다시 만든다. 만드는 동안 들어온 커밋은 한 번으로 모아서 끝난 뒤에 다시 만든다.
+ *   예약은 커밋 후에 하고 조회는 그 뒤에 하므로 마지막으로 만든 트리는 마지막 커밋까지 반영한다.
+ * - 카테고리는 수가 적고 자주 바뀌지 않으므로 부분 갱신 대신 전체를 다시 만든다.
+ */
+@Slf4j
+@Component
+public class CategoryTree {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "category-tree-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY; // 갱신 스레드에서만 교체
+
+    public CategoryTree(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * 애플리케이션 시작 시 - 갱신 스레드에서 만들고 끝날 때까지 기다린다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        try {
+            refresher.submit(this::rebuild).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("카테고리 트리 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("카테고리 트리 생성에 실패했습니다.", e.getCause());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 갱신 스레드에서만 실행
+     */
+    private void refresh() {
+        rebuildScheduled.set(false); // 꺼낸 뒤에 들어온 커밋은 refresh 를 다시 예약한다.
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("카테고리 트리 갱신 실패, 다음 변경 때 다시 만듭니다.", e);
+        }
+    }
+
+    private void rebuild() {
+        List<CategoryQueryDto> rows = readOnlyTx.execute(status -> categoryRepository.findAllRows());
+        snapshot = Snapshot.of(rows);
+        log.info("카테고리 트리 생성: 카테고리 {}개", snapshot.nodes.size());
+    }
+
+    /**
+     * 루트 카테고리 목록(하위 카테고리 포함)
+     */
+    public List<CategoryNode> roots() {
+        return snapshot.roots;
+    }
+
+    /**
+     * @return 카테고리가 없으면 null
+     */
+    public CategoryNode find(Long categoryId) {
+        return snapshot.nodes.get(categoryId);
+    }
+
+    /**
+     * 루트부터 자기 자신까지(카테고리가 없으면 빈 목록)
+     */
+    public List<CategoryNode> ancestors(Long categoryId) {
+        Snapshot current = snapshot; // 같은 스냅샷에서 끝까지 따라간다.
+        List<CategoryNode> path = new ArrayList<>();
+        for (CategoryNode node = current.nodes.get(categoryId); node != null; node = current.nodes.get(node.getParentId())) {
+            path.add(node);
+            if (node.getParentId() == null) {
+                break;
+            }
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * 자기 자신과 모든 하위 카테고리 id(카테고리가 없으면 빈 목록)
+     */
+    public List<Long> descendantIds(Long categoryId) {
+        CategoryNode root = snapshot.nodes.get(categoryId);
+        List<Long> ids = new ArrayList<>();
+        if (root != null) {
+            collectIds(root, ids);
+        }
+        return ids;
+    }
+
+    private static void collectIds(CategoryNode node, List<Long> ids) {
+        ids.add(node.getId());
+        for (CategoryNode child : node.getChildren()) {
+            collectIds(child, ids);
+        }
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of());
+
+        final List<CategoryNode> roots;
+        final Map<Long, CategoryNode> nodes;
+
+        private Snapshot(List<CategoryNode> roots, Map<Long, CategoryNode> nodes) {
+            this.roots = roots;
+            this.nodes = nodes;
+        }
+
+        static Snapshot of(List<CategoryQueryDto> rows) {
+            Map<Long, List<CategoryQueryDto>> childRows = new HashMap<>();
+            List<CategoryQueryDto> rootRows = new ArrayList<>();
+            for (CategoryQueryDto row : rows) {
+                if (row.getParentId() == null) {
+                    rootRows.add(row);
+                } else {
+                    childRows.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row);
+                }
+            }
+
+            Map<Long, CategoryNode> nodes = HashMap.newHashMap(rows.size());
+            List<CategoryNode> roots = new ArrayList<>(rootRows.size());
+            for (CategoryQueryDto row : rootRows) {
+                roots.add(build(row, 0, childRows, nodes));
+            }
+            return new Snapshot(List.copyOf(roots), Map.copyOf(nodes));
+        }
+
+        /**
+         * 자식부터 만들어서 부모에 넣는다.(불변 노드) - 부모가 없는(고아) 카테고리는 트리에 넣지 않는다.
+         */
+        private static CategoryNode build(CategoryQueryDto row, int depth,
+                                          Map<Long, List<CategoryQueryDto>> childRows, Map<Long, CategoryNode> nodes) {
+            List<CategoryNode> children = new ArrayList<>();
+            for (CategoryQueryDto childRow : childRows.getOrDefault(row.getId(), List.of())) {
+                children.add(build(childRow, depth + 1, childRows, nodes));
+            }
+            CategoryNode node = new CategoryNode(row.getId(), row.getName(), row.getParentId(), depth, children);
+            nodes.put(node.getId(), node);
+            return node;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.service.event.ItemChangedEvent;
+import jpabook.jpashop.service.event.MemberChangedEvent;
+import jpabook.jpashop.service.event.OrderChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 집계(주문, 회원, 상품)별 변경 버전 - 목록 API 의 ETag 로 사용(ConditionalGetFilter)
+ * - 쓰기 트랜잭션이 커밋되면(OrderChangedEvent, MemberChangedEvent, ItemChangedEvent) 해당 집계의 버전을 1 올린다.
+ * - 버전은 메모리에만 있으므로 애플리케이션을 다시 시작하면 0 부터 시작한다.
+ *   재시작 전에 받은 ETag 와 겹치지 않도록 시작할 때마다 새로 만든 epoch 를 앞에 붙인다.
+ * - 서비스를 거치지 않고 DB 를 직접 수정하면 버전이 오르지 않는다.(주문 요약 재생성은 주문 버전을 올림)
+ */
+@Component
+public class ChangeVersions {
+
+    public enum Aggregate {
+        ORDER('o'), MEMBER('m'), ITEM('i');
+
+        private final char code;
+
+        Aggregate(char code) {
+            this.code = code;
+        }
+    }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+
+    /**
+     * aggregates 의 현재 버전을 합친 문자열(예: "3k9x1q-o12m4")
+     * - 같은 집계 조합이면 버전이 하나라도 바뀔 때만 값이 달라진다.
+     */
+    public String version(Set<Aggregate> aggregates) {
+        StringBuilder version = new StringBuilder(epoch).append('-');
+        for (Aggregate aggregate : Aggregate.values()) {
+            if (aggregates.contains(aggregate)) {
+                version.append(aggregate.code).append(versions.get(aggregate.ordinal()));
+            }
+        }
+        return version.toString();
+    }
+
+    @TransactionalEventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        versions.incrementAndGet(Aggregate.ORDER.ordinal());
+    }
+
+    @TransactionalEventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        versions.incrementAndGet(Aggregate.MEMBER.ordinal());
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        versions.incrementAndGet(Aggregate.ITEM.ordinal());
+    }
+}
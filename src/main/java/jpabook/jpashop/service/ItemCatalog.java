@@ -0,0 +1,244 @@
+package jpabook.jpashop.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.DiscriminatorValue;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.event.ItemChangedEvent;
+import jpabook.jpashop.service.event.StockChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 메모리 상품 카탈로그(copy-on-write 스냅샷)
+ * - 상품 목록 화면(상품 목록, 주문 화면)은 DB 조회 없이 불변 스냅샷의 목록을 그대로 반환한다.(요청마다 새로 만드는 객체 없음)
+ * - 상품 등록/수정(ItemChangedEvent), 재고 변경(StockChangedEvent)이 커밋되면 상품 id 만 "변경됨"으로 표시하고 바로 돌아간다.
+ *   커밋한 요청 스레드는 락을 잡지 않고 DB 도 조회하지 않는다.(가상 스레드 pinning, 커밋마다 줄 서기 방지)
+ * - 카탈로그 갱신 스레드 하나가 표시된 상품을 모아서 한 번에 다시 읽는다.
+ *   - 등록/수정된 상품은 새 ItemView 로 새 스냅샷을 만들고 volatile 참조를 교체한다.
+ *   - 재고만 바뀐 상품은 스냅샷을 복사하지 않고 해당 ItemView 의 재고만 바꾼다.(주문마다 발생)
+ *   - 표시는 커밋 후에 하고 조회는 그 뒤에 하므로 항상 커밋된 최신 값을 읽는다. 갱신이 한 스레드에서만 일어나므로 순서가 뒤바뀌지 않는다.
+ * - 목록에는 커밋 직후 잠깐(갱신 스레드가 다시 읽을 때까지) 이전 값이 보일 수 있다.
+ * - 애플리케이션 시작 전(isReady() == false)에는 DB 에서 읽어서 반환한다.
+ */
+@Slf4j
+@Component
+public class ItemCatalog {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-catalog-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Long> changedItems = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedStocks = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile Snapshot snapshot; // 갱신 스레드에서만 교체
+
+    public ItemCatalog(ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * 전체 다시 만들기 - 애플리케이션 시작 시, 상품을 ItemService 를 거치지 않고 저장한 경우
+     * - 갱신 스레드에서 만들고 끝날 때까지 기다린다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            refresher.submit(this::rebuildSnapshot).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("상품 카탈로그 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("상품 카탈로그 생성에 실패했습니다.", e.getCause());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        changedItems.add(event.getItemId());
+        scheduleRefresh();
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(StockChangedEvent event) {
+        changedStocks.addAll(event.getItemIds());
+        scheduleRefresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    private void rebuildSnapshot() {
+        // 지우고 나서 읽으므로 이후에 표시된 변경은 다음 refresh 에서 반영된다.
+        changedItems.clear();
+        changedStocks.clear();
+        snapshot = Snapshot.of(toViews(readOnlyTx.execute(status -> itemRepository.findAllCatalogRows())));
+        log.info("상품 카탈로그 생성: 상품 {}개", snapshot.items.size());
+    }
+
+    /**
+     * 갱신 스레드에서만 실행
+     */
+    private void refresh() {
+        refreshScheduled.set(false); // 꺼낸 뒤에 표시된 변경은 refresh 를 다시 예약한다.
+
+        Snapshot current = snapshot;
+        if (current == null) {
+            return; // 시작 시 전체를 만들면서 반영된다.
+        }
+        List<Long> itemIds = drain(changedItems);
+        List<Long> stockIds = drain(changedStocks);
+        stockIds.removeAll(itemIds); // 새로 읽는 상품은 재고도 함께 반영된다.
+        if (itemIds.isEmpty() && stockIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                if (!itemIds.isEmpty()) {
+                    snapshot = replaceItems(current, itemIds, toViews(itemRepository.findCatalogRows(itemIds)));
+                }
+                if (!stockIds.isEmpty()) {
+                    Snapshot replaced = snapshot;
+                    for (Object[] stock : itemRepository.findStockQuantities(stockIds)) {
+                        ItemView item = replaced.byId.get((Long) stock[0]);
+                        if (item != null) {
+                            item.changeStockQuantity((Integer) stock[1]);
+                        }
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("상품 카탈로그 갱신 실패, 다음 변경 때 다시 읽습니다. items={}, stocks={}", itemIds, stockIds, e);
+            changedItems.addAll(itemIds);
+            changedStocks.addAll(stockIds);
+        }
+    }
+
+    private static Snapshot replaceItems(Snapshot current, List<Long> itemIds, List<ItemView> changed) {
+        Set<Long> replacedIds = new HashSet<>(itemIds);
+        List<ItemView> items = new ArrayList<>(current.items.size() + changed.size());
+        for (ItemView item : current.items) {
+            if (!replacedIds.contains(item.getId())) {
+                items.add(item);
+            }
+        }
+        items.addAll(changed); // 삭제된 상품은 changed 에 없으므로 빠진다.
+        items.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return Snapshot.of(items);
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Iterator<Long> iterator = ids.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 전체 상품(id 순서) - 불변 목록
+     */
+    public List<ItemView> items() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return toViews(readOnlyTx.execute(status -> itemRepository.findAllCatalogRows()));
+        }
+        return current.items;
+    }
+
+    /**
+     * 상품 타입(dtype)별 상품(id 순서) - 불변 목록
+     */
+    public List<ItemView> items(String dtype) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return items().stream().filter(item -> item.getDtype().equals(dtype)).toList();
+        }
+        return current.byDtype.getOrDefault(dtype, List.of());
+    }
+
+    /**
+     * @return 상품이 없거나 카탈로그가 아직 없으면 null
+     */
+    public ItemView find(Long itemId) {
+        Snapshot current = snapshot;
+        return current == null ? null : current.byId.get(itemId);
+    }
+
+    private static List<ItemView> toViews(List<Object[]> rows) {
+        List<ItemView> views = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            views.add(new ItemView((Long) row[0], dtype((Class<?>) row[1]), (String) row[2], (Integer) row[3], (Integer) row[4]));
+        }
+        return views;
+    }
+
+    private static String dtype(Class<?> itemType) {
+        DiscriminatorValue discriminator = itemType.getAnnotation(DiscriminatorValue.class);
+        return discriminator != null ? discriminator.value() : itemType.getSimpleName();
+    }
+
+    private static final class Snapshot {
+
+        final List<ItemView> items;
+        final Map<String, List<ItemView>> byDtype;
+        final Map<Long, ItemView> byId;
+
+        private Snapshot(List<ItemView> items, Map<String, List<ItemView>> byDtype, Map<Long, ItemView> byId) {
+            this.items = items;
+            this.byDtype = byDtype;
+            this.byId = byId;
+        }
+
+        static Snapshot of(List<ItemView> items) {
+            Map<String, List<ItemView>> byDtype = new HashMap<>();
+            Map<Long, ItemView> byId = HashMap.newHashMap(items.size());
+            for (ItemView item : items) {
+                byDtype.computeIfAbsent(item.getDtype(), dtype -> new ArrayList<>()).add(item);
+                byId.put(item.getId(), item);
+            }
+            byDtype.replaceAll((dtype, views) -> Collections.unmodifiableList(views));
+            return new Snapshot(Collections.unmodifiableList(items), Map.copyOf(byDtype), Map.copyOf(byId));
+        }
+    }
+}
@@ -2,7 +2,9 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.service.event.ItemChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,10 +16,12 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void saveItem(Item item) {
         itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId())); // 커밋 후 상품 카탈로그 갱신
     }
 
     /**
@@ -35,10 +39,11 @@ public class ItemService {
         // 같은 엔티티를 조회(persistItem 변수는 em.find()로 찾아온 변수이기 때문에 영속 대상)
         Item persistItem = itemRepository.findOne(id);
 
-        // 데이터 수정 및 UPDATE 쿼리 발생
+        // 데이터 수정 및 UPDATE 쿼리 발생(2차 캐시는 READ_WRITE 전략으로 커밋 시점에 함께 갱신)
         persistItem.setName(name);
         persistItem.setPrice(price);
         persistItem.setStockQuantity(stockQuantity);
+        eventPublisher.publishEvent(new ItemChangedEvent(id)); // 커밋 후 상품 카탈로그 갱신
     }
 
     public List<Item> findItems() {
@@ -0,0 +1,30 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+
+/**
+ * 메모리 카탈로그의 상품 한 건(목록 화면용 컬럼만)
+ * - 재고를 제외한 값은 바뀌지 않는다. 상품 등록/수정은 새 ItemView 로 카탈로그를 통째로 교체한다.
+ * - 재고는 주문마다 바뀌므로 카탈로그를 복사하지 않고 이 객체의 값만 바꾼다.(volatile)
+ */
+@Getter
+public final class ItemView {
+
+    private final Long id;
+    private final String dtype; // B: 도서, A: 음반, M: 영화
+    private final String name;
+    private final int price;
+    private volatile int stockQuantity;
+
+    ItemView(Long id, String dtype, String name, int price, int stockQuantity) {
+        this.id = id;
+        this.dtype = dtype;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+    }
+
+    void changeStockQuantity(int stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+}
@@ -0,0 +1,31 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 회원 일괄 등록 결과(입력 한 줄당 하나)
+ * - row: 입력 데이터 순번(1부터, CSV 헤더 제외)
+ */
+@Data
+@AllArgsConstructor
+public class MemberImportResult {
+
+    public enum Status {
+        ACCEPTED, REJECTED
+    }
+
+    private long row;
+    private String name;
+    private Status status;
+    private Long memberId;
+    private String reason;
+
+    static MemberImportResult accepted(long row, String name, Long memberId) {
+        return new MemberImportResult(row, name, Status.ACCEPTED, memberId, null);
+    }
+
+    static MemberImportResult rejected(long row, String name, String reason) {
+        return new MemberImportResult(row, name, Status.REJECTED, null, reason);
+    }
+}
@@ -0,0 +1,28 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회원 일괄 등록 입력 한 줄(CSV: name,city,street,zipcode / JSON: 같은 이름의 필드)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberImportRow {
+
+    private String name;
+    private String city;
+    private String street;
+    private String zipcode;
+
+    Member toMember() {
+        Member member = new Member();
+        member.setUsername(name);
+        member.setAddress(new Address(city, street, zipcode));
+        return member;
+    }
+}
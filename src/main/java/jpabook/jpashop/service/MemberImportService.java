@@ -0,0 +1,132 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.service.event.MemberChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 회원 일괄 등록
+ * - 입력을 CHUNK_SIZE 건씩 읽어서 청크마다 별도 트랜잭션으로 저장한다.(실패해도 이전 청크는 유지)
+ * - 중복 검사는 join() 처럼 회원마다 조회하지 않고, 청크의 이름 전체를 IN 쿼리 한번으로 확인한다.
+ * - 같은 청크 안의 중복은 메모리(Set)에서 확인하고, 이전 청크에서 저장한 이름은 IN 쿼리에서 걸러진다.
+ * - INSERT 는 JDBC 배치(hibernate.jdbc.batch_size)로 묶이고, 청크가 끝날 때마다 flush + clear 해서 힙 사용량이 일정하다.
+ * - 블룸 필터에 없는 이름(DB 에 직접 등록된 회원)이나 동시 가입으로 유니크 제약조건(uk_member_username)에 걸리면
+ *   청크를 롤백하고 블룸 필터 없이 청크의 이름 전체를 DB 로 확인해서 다시 저장한다.
+ *   다시 저장해도 충돌하면 그 청크는 전부 거절로 보고하고 다음 청크를 계속 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EntityManager em;
+    private final MemberRepository memberRepository;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param report 입력 한 줄마다 처리 결과를 순서대로 받는다.(청크 커밋 후 호출)
+     * @return 등록된 회원 수
+     */
+    public long importMembers(Iterator<MemberImportRow> rows, Consumer<MemberImportResult> report) {
+        long accepted = 0;
+        long nextRow = 1;
+        List<MemberImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == CHUNK_SIZE || !rows.hasNext()) {
+                List<MemberImportResult> results = importChunkWithRetry(chunk, nextRow);
+                nextRow += chunk.size();
+                for (MemberImportResult result : results) {
+                    if (result.getStatus() == MemberImportResult.Status.ACCEPTED) {
+                        accepted++;
+                    }
+                    report.accept(result);
+                }
+                chunk.clear();
+            }
+        }
+
+        return accepted;
+    }
+
+    private List<MemberImportResult> importChunkWithRetry(List<MemberImportRow> chunk, long firstRow) {
+        try {
+            return transactionTemplate.execute(status -> importChunk(chunk, firstRow, true));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            log.warn("회원 일괄 등록 청크(시작 행 {}) 이름 중복 - 블룸 필터 없이 다시 저장", firstRow, e);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> importChunk(chunk, firstRow, false));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            log.warn("회원 일괄 등록 청크(시작 행 {}) 다시 저장 실패 - 청크 전체 거절", firstRow, e);
+            List<MemberImportResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(MemberImportResult.rejected(firstRow + i, chunk.get(i).getName(),
+                        "동시에 등록된 회원과 이름이 중복되어 저장하지 못했습니다. 다시 시도해 주세요."));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * @param usePrefilter false 면 블룸 필터를 거치지 않고 청크의 이름 전체를 DB 로 확인한다.
+     */
+    private List<MemberImportResult> importChunk(List<MemberImportRow> chunk, long firstRow, boolean usePrefilter) {
+        Set<String> candidateNames = new HashSet<>(); // 블룸 필터가 "있을 수도 있음"이라고 한 이름만 DB 로 확인
+        for (MemberImportRow row : chunk) {
+            if (StringUtils.hasText(row.getName()) && (!usePrefilter || usernameBloomFilter.mightContain(row.getName()))) {
+                candidateNames.add(row.getName());
+            }
+        }
+
+        Set<String> existingNames = candidateNames.isEmpty()
+                ? Set.of() : new HashSet<>(memberRepository.findUsernamesIn(candidateNames));
+        Set<String> chunkNames = new HashSet<>();
+
+        List<MemberImportResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            MemberImportRow row = chunk.get(i);
+            long rowNumber = firstRow + i;
+            String name = row.getName();
+            if (!StringUtils.hasText(name)) {
+                results.add(MemberImportResult.rejected(rowNumber, name, "회원 이름은 필수입니다."));
+            } else if (existingNames.contains(name)) {
+                results.add(MemberImportResult.rejected(rowNumber, name, "이미 존재하는 회원입니다."));
+            } else if (!chunkNames.add(name)) {
+                results.add(MemberImportResult.rejected(rowNumber, name, "입력 데이터에 중복된 회원입니다."));
+            } else {
+                Member member = row.toMember();
+                memberRepository.save(member);
+                usernameBloomFilter.put(name);
+                eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), name));
+                results.add(MemberImportResult.accepted(rowNumber, name, member.getId()));
+            }
+        }
+
+        em.flush();
+        em.clear(); // 청크 단위로 영속성 컨텍스트 정리
+        return results;
+    }
+}
@@ -0,0 +1,194 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.service.event.MemberChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 회원 이름 부분 검색 인덱스(n-gram, 메모리)
+ * - 이름을 소문자로 바꾼 뒤 1~3글자 조각마다 회원 id 목록을 만들어 둔다.
+ * - 검색어가 3글자 이상이면 검색어의 트라이그램 중 회원 수가 가장 적은 조각의 id 목록만 후보로 보고,
+ *   실제 이름에 검색어가 포함되는지 확인한다.
+ * - 검색어가 1~2글자면 검색어 자체가 조각이므로 그 조각의 id 목록이 곧 결과다.(이름 전체를 확인하지 않음)
+ * - 관련도 순 상위 limit 명만 크기가 limit 인 힙으로 고르므로 일치하는 회원이 많아도 전체 정렬을 하지 않는다.
+ * - 애플리케이션 시작 후 전체 회원으로 만들고, 회원 등록/이름 변경은 커밋 후 MemberChangedEvent 로 반영한다.
+ * - 만들어지기 전(isReady() == false)에는 호출하는 쪽에서 DB 검색을 사용한다.
+ */
+@Slf4j
+@Component
+public class MemberNameIndex {
+
+    private static final int GRAM = 3; // 조각 최대 길이(1, 2 글자 조각은 짧은 검색어용)
+    private static final int FETCH_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>(); // 회원 id -> 소문자 이름
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>(); // 1~3글자 조각 -> 회원 id
+    private volatile boolean ready;
+
+    public MemberNameIndex(MemberRepository memberRepository, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Object[]> members = memberRepository.streamIdAndUsernames(FETCH_SIZE)) {
+                Iterator<Object[]> iterator = members.iterator();
+                while (iterator.hasNext()) {
+                    Object[] member = iterator.next();
+                    put((Long) member[0], (String) member[1]);
+                }
+            }
+        });
+        ready = true;
+        log.info("회원 이름 검색 인덱스 생성: 회원 {}명, 조각 {}개", names.size(), postings.size());
+    }
+
+    @TransactionalEventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        put(event.getMemberId(), event.getUsername());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 이름에 keyword 가 포함된 회원 id 를 관련도 순으로 최대 limit 명
+     * - 순서: 이름이 같은 회원, keyword 로 시작하는 회원, 이름이 짧은 회원, id
+     */
+    public List<Long> search(String keyword, int limit) {
+        if (keyword == null || keyword.isEmpty()) {
+            return List.of();
+        }
+        if (limit < 1) {
+            return List.of();
+        }
+        String normalized = normalize(keyword);
+        Comparator<Map.Entry<Long, String>> relevance =
+                Comparator.<Map.Entry<Long, String>>comparingInt(e -> rank(e.getValue(), normalized))
+                        .thenComparingInt(e -> e.getValue().length())
+                        .thenComparing(Map.Entry::getKey);
+
+        // 가장 관련도가 낮은 회원이 맨 앞에 오는 힙 - limit 명을 넘으면 맨 앞을 버린다.
+        PriorityQueue<Map.Entry<Long, String>> top = new PriorityQueue<>(limit + 1, relevance.reversed());
+        for (Long memberId : candidates(normalized)) {
+            String name = names.get(memberId);
+            if (name != null && name.contains(normalized)) {
+                top.add(Map.entry(memberId, name));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Map.Entry<Long, String>> matches = new ArrayList<>(top);
+        matches.sort(relevance);
+        List<Long> result = new ArrayList<>(matches.size());
+        for (Map.Entry<Long, String> match : matches) {
+            result.add(match.getKey());
+        }
+        return result;
+    }
+
+    private Iterable<Long> candidates(String normalized) {
+        if (normalized.length() < GRAM) {
+            Set<Long> ids = postings.get(normalized); // 1~2글자 검색어는 그대로 조각
+            return ids != null ? ids : Collections.emptySet();
+        }
+
+        Set<Long> smallest = null;
+        for (String gram : grams(normalized, GRAM)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet(); // 없는 조각이 하나라도 있으면 결과 없음
+            }
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        return smallest;
+    }
+
+    private static int rank(String name, String keyword) {
+        if (name.equals(keyword)) {
+            return 0;
+        }
+        return name.startsWith(keyword) ? 1 : 2;
+    }
+
+    private synchronized void put(Long memberId, String username) {
+        if (memberId == null) {
+            return;
+        }
+
+        String previous = names.remove(memberId);
+        if (previous != null) {
+            for (String gram : allGrams(previous)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(memberId);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        if (username == null) {
+            return;
+        }
+        String normalized = normalize(username);
+        for (String gram : allGrams(normalized)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(memberId);
+        }
+        names.put(memberId, normalized);
+    }
+
+    /**
+     * 인덱스에 넣을 조각 - 길이 1 ~ GRAM 인 조각 전체(중복 제거)
+     */
+    private static Set<String> allGrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int size = 1; size <= GRAM; size++) {
+            grams.addAll(grams(normalized, size));
+        }
+        return grams;
+    }
+
+    private static List<String> grams(String normalized, int size) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + size <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + size));
+        }
+        return grams;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,8 +1,13 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.exception.DuplicateMemberException;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.service.event.MemberChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,21 +19,34 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final UsernameBloomFilter usernameBloomFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 회원 가입
+     * - 중복 검사는 블룸 필터에 없는 이름이면 생략하고, 동시 가입 경합은 유니크 제약조건으로 막는다.
      */
     @Transactional
     public Long join(Member member) {
-        validateDuplicationMember(member); // 중복 회원 검증
-        memberRepository.save(member);
+        validateDuplicationMember(member.getUsername()); // 중복 회원 검증
+        try {
+            memberRepository.saveAndFlush(member);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateMemberException("이미 존재하는 회원입니다.", e);
+        }
+        usernameBloomFilter.put(member.getUsername());
+        eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), member.getUsername()));
         return member.getId();
     }
 
-    private void validateDuplicationMember(Member member) {
-        List<Member> findMembers = memberRepository.findByName(member.getUsername());
+    private void validateDuplicationMember(String username) {
+        if (!usernameBloomFilter.mightContain(username)) {
+            return; // 한번도 등록된 적 없는 이름
+        }
+        List<Member> findMembers = memberRepository.findByName(username);
         if (!findMembers.isEmpty()) {
-            throw new IllegalStateException("이미 존재하는 회원입니다.");
+            throw new DuplicateMemberException("이미 존재하는 회원입니다.");
         }
     }
 
@@ -49,6 +67,19 @@ public class MemberService {
     @Transactional
     public void update(Long id, String name) {
         Member member = memberRepository.findOne(id);
+        if (name == null || name.equals(member.getUsername())) {
+            return;
+        }
+
+        validateDuplicationMember(name);
         member.setUsername(name);
+        try {
+            memberRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateMemberException("이미 존재하는 회원입니다.", e);
+        }
+        orderSummaryRepository.updateMemberName(id, name); // 주문 요약의 회원 이름도 같은 트랜잭션에서 변경
+        usernameBloomFilter.put(name);
+        eventPublisher.publishEvent(new MemberChangedEvent(id, name));
     }
 }
@@ -1,19 +1,30 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
 import jpabook.jpashop.repository.OrderRepository;
-import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.service.event.OrderChangedEvent;
+import jpabook.jpashop.service.event.StockChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 
 @Service
@@ -24,6 +35,8 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
     private final ItemRepository itemRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 주문
@@ -32,8 +45,13 @@ public class OrderService {
     public Long order(Long memberId, Long itemId, int count) {
 
         // 엔티티 조회
-        Member member = memberRepository.findOne(memberId);
-        Item item = itemRepository.findOne(itemId);
+        Member member = findMember(memberId);
+
+        // 상품 조회 - row 락을 잡고 최신 재고로 조회(동시 주문의 갱신 손실 방지)
+        Item item = itemRepository.findForUpdate(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("상품이 없습니다. itemId=" + itemId);
+        }
 
         // 배송 정보 생성
         Delivery delivery = new Delivery();
@@ -45,9 +63,72 @@ public class OrderService {
         // 주문 생성
         Order order = Order.createOrder(member, delivery, orderItem);
 
-        // 주문 저장
+        // 주문 저장 + 주문 요약(order_summary) 저장
         orderRepository.save(order);
+        orderSummaryRepository.save(OrderSummary.from(order));
 
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(itemId))); // 커밋 후 상품 카탈로그 재고 갱신
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId())); // 커밋 후 주문 목록 ETag 버전 증가
+        return order.getId();
+    }
+
+    /**
+     * 장바구니 주문 - 여러 상품을 하나의 주문으로 저장
+     * - itemCounts: 상품 id -> 주문 수량
+     * - 상품은 id 오름차순으로 락을 잡아서 동시 주문끼리 row 락을 항상 같은 순서로 잡는다.(데드락 방지)
+     * - 재고는 락을 잡고 조회한 상품 엔티티에서 차감하고(재고 부족 시 NotEnoughStockException, 전체 롤백) 변경 감지로 UPDATE 된다.
+     * - 주문상품은 Order 의 cascade 로 함께 저장되고, hibernate.jdbc.batch_size 로 INSERT 가 배치 처리된다.
+     * @throws IllegalArgumentException 주문 상품이 없거나, 수량이 1 미만이거나, 회원/상품이 없는 경우
+     * @throws NotEnoughStockException 재고가 부족한 경우
+     */
+    @Transactional
+    public Long order(Long memberId, Map<Long, Integer> itemCounts) {
+        if (itemCounts.isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+        }
+        itemCounts.forEach((itemId, count) -> {
+            if (count == null || count <= 0) {
+                throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다. itemId=" + itemId);
+            }
+        });
+
+        // 엔티티 조회
+        Member member = findMember(memberId);
+
+        // 상품 조회 - 상품 id 순서로 row 락을 잡는다.
+        SortedMap<Long, Integer> sortedItemCounts = new TreeMap<>(itemCounts);
+        List<Item> items = new ArrayList<>(sortedItemCounts.size());
+        List<Long> missingItemIds = new ArrayList<>();
+        for (Long itemId : sortedItemCounts.keySet()) {
+            Item item = itemRepository.findForUpdate(itemId);
+            if (item == null) {
+                missingItemIds.add(itemId);
+            } else {
+                items.add(item);
+            }
+        }
+        if (!missingItemIds.isEmpty()) {
+            throw new IllegalArgumentException("상품이 없습니다. itemIds=" + missingItemIds);
+        }
+
+        // 배송 정보 생성
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        // 주문 상품 생성 - 재고 차감
+        OrderItem[] orderItems = new OrderItem[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            orderItems[i] = OrderItem.createOrderItem(item, item.getPrice(), sortedItemCounts.get(item.getId()));
+        }
+
+        // 주문 생성 및 저장
+        Order order = Order.createOrder(member, delivery, orderItems);
+        orderRepository.save(order);
+        orderSummaryRepository.save(OrderSummary.from(order));
+
+        eventPublisher.publishEvent(new StockChangedEvent(List.copyOf(sortedItemCounts.keySet())));
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
         return order.getId();
     }
 
@@ -56,16 +137,46 @@ public class OrderService {
      * - JPA의 장점을 해당 메서드에서 확인할 수 있는데,
      * - cancel 메서드 아래와 같은 변경사항이 있다.
      *   - Order의 상태를 COMP -> CANCEL
-     *   - 주문 취소로 인한 OrderItem 재고 수량을 증가
      *   - 원래는 이 내용들의 UPDATE 쿼리를 직접 작성해 줘야 하지만, JPA의 dirty-check로 자동으로 UPDATE 쿼리가 발생하게 된다.
+     * - 재고 수량 증가는 동시 주문과 갱신 손실이 나지 않도록 상품 row 락을 잡은 뒤(id 순서) 엔티티에서 처리한다.
      */
     @Transactional
     public void cancelOrder(Long orderId) {
         Order order = orderRepository.findOne(orderId);
-        order.cancel(); // 주문 취소
+
+        List<Long> itemIds = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            itemIds.add(orderItem.getItem().getId());
+        }
+        itemIds.sort(null);
+        itemIds.forEach(itemRepository::findForUpdate);
+
+        order.cancel(); // 주문 취소 + 재고 복구
+        orderSummaryRepository.updateOrderStatus(orderId, OrderStatus.CANCLE);
+        eventPublisher.publishEvent(new StockChangedEvent(itemIds));
+        eventPublisher.publishEvent(new OrderChangedEvent(orderId));
+    }
+
+    private Member findMember(Long memberId) {
+        Member member = memberRepository.findOne(memberId);
+        if (member == null) {
+            throw new IllegalArgumentException("회원이 없습니다. memberId=" + memberId);
+        }
+        return member;
     }
 
-    public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+    /**
+     * 배송 상태 변경
+     */
+    @Transactional
+    public void changeDeliveryStatus(Long orderId, DeliveryStatus deliveryStatus) {
+        Order order = orderRepository.findOne(orderId);
+        if (order.getStatus() == OrderStatus.CANCLE && deliveryStatus == DeliveryStatus.COMP) {
+            throw new IllegalStateException("취소된 주문은 배송 완료할 수 없습니다.");
+        }
+
+        order.getDelivery().setStatus(deliveryStatus);
+        orderSummaryRepository.updateDeliveryStatus(orderId, deliveryStatus);
+        eventPublisher.publishEvent(new OrderChangedEvent(orderId));
     }
 }
@@ -0,0 +1,34 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.service.event.OrderChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 주문 요약(order_summary) 관리
+ * - 평소에는 OrderService, MemberService 가 쓰기와 같은 트랜잭션에서 요약을 갱신한다.
+ * - 요약을 거치지 않고 저장한 데이터(초기 데이터, 직접 수정한 데이터)가 있으면 rebuild 로 전체를 다시 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryService {
+
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return 생성된 요약 row 수
+     */
+    @Transactional
+    public int rebuild() {
+        int rebuilt = orderSummaryRepository.rebuild();
+        log.info("order_summary 재생성 완료: {}건", rebuilt);
+        eventPublisher.publishEvent(new OrderChangedEvent(null)); // 커밋 후 주문 목록 ETag 버전 증가
+        return rebuilt;
+    }
+}
@@ -0,0 +1,135 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * 회원 이름 블룸 필터
+ * - mightContain() 이 false 면 그 이름은 확실히 없으므로 중복 검사 쿼리를 생략할 수 있다.
+ * - true 는 "있을 수도 있음"(오탐률 false-positive-rate)이므로 DB 를 조회해서 확인한다.
+ * - 애플리케이션 시작 후 전체 회원 이름으로 만들고, 가입/수정/일괄 등록 때마다 이름을 추가한다.(삭제는 지원하지 않음)
+ * - 만들어지기 전에는 항상 true 를 반환해서 DB 조회로 검사한다.
+ * - 최종 중복 판단은 username 유니크 제약조건(uk_member_username)이 한다.
+ */
+@Slf4j
+@Component
+public class UsernameBloomFilter {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private volatile boolean ready;
+
+    public UsernameBloomFilter(MemberRepository memberRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jpashop.member.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${jpashop.member.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        // m = -n ln(p) / (ln 2)^2, k = m / n * ln 2
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long count = readOnlyTx.execute(status -> {
+            long put = 0;
+            try (Stream<String> usernames = memberRepository.streamUsernames(FETCH_SIZE)) {
+                Iterator<String> iterator = usernames.iterator();
+                while (iterator.hasNext()) {
+                    put(iterator.next());
+                    put++;
+                }
+            }
+            return put;
+        });
+        ready = true;
+        log.info("회원 이름 블룸 필터 생성: {}건, {} bits, hash {}개", count, bitSize, hashCount);
+    }
+
+    public void put(String username) {
+        if (username == null) {
+            return;
+        }
+        long hash = hash64(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+        if (username == null) {
+            return false;
+        }
+        long hash = hash64(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & 0x7fffffffL) % bitSize;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * FNV-1a(64bit) + murmur3 fmix64
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3f90fe1a85bL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,14 @@
+package jpabook.jpashop.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 카테고리 추가/변경(커밋 후 @TransactionalEventListener 로 처리)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+}
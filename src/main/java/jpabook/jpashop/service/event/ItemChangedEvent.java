@@ -0,0 +1,14 @@
+package jpabook.jpashop.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품 등록/수정(커밋 후 @TransactionalEventListener 로 처리)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemChangedEvent {
+
+    private final Long itemId;
+}
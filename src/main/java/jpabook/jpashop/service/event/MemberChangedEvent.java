@@ -0,0 +1,15 @@
+package jpabook.jpashop.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원 등록/이름 변경(커밋 후 @TransactionalEventListener 로 처리)
+ */
+@Getter
+@RequiredArgsConstructor
+public class MemberChangedEvent {
+
+    private final Long memberId;
+    private final String username;
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문/주문 취소/배송 상태 변경(커밋 후 @TransactionalEventListener 로 처리)
+ * - orderId 가 null 이면 여러 주문이 바뀐 경우(주문 요약 재생성)
+ */
+@Getter
+@RequiredArgsConstructor
+public class OrderChangedEvent {
+
+    private final Long orderId;
+}
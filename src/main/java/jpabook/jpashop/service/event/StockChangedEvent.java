@@ -0,0 +1,16 @@
+package jpabook.jpashop.service.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * 주문/주문 취소로 재고 변경(커밋 후 @TransactionalEventListener 로 처리)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StockChangedEvent {
+
+    private final Collection<Long> itemIds;
+}
@@ -0,0 +1,18 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대시보드(최근 주문, 배송 상태별 건수, 재고 부족 상품)
+ */
+@Data
+public class DashboardDto {
+    private final List<OrderSimpleQueryDto> recentOrders;
+    private final Map<DeliveryStatus, Long> deliveryStatusCounts;
+    private final List<ItemListDto> lowStockItems;
+}
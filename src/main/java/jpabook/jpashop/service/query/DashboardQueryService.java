@@ -0,0 +1,49 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryRepository;
+import jpabook.jpashop.service.query.ParallelReadExecutor.ReadScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 여러 화면 데이터를 한번에 내려주는 조회(composite read)
+ * - 서로 독립적인 조회를 ParallelReadExecutor 로 동시에 실행한다. 조회마다 별도 읽기 전용 트랜잭션이므로
+ *   이 클래스에는 @Transactional 을 붙이지 않는다.
+ * - 응답 시간은 조회 시간의 합이 아니라 가장 느린 조회 시간이다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardQueryService {
+
+    private static final int RECENT_ORDERS = 10;
+    private static final int LOW_STOCK_THRESHOLD = 10;
+    private static final int LOW_STOCK_ITEMS = 10;
+
+    private final ParallelReadExecutor parallelReadExecutor;
+    private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final ItemRepository itemRepository;
+
+    public DashboardDto findDashboard(Duration deadline) throws TimeoutException, InterruptedException {
+        try (ReadScope scope = parallelReadExecutor.open(deadline)) {
+            Supplier<List<OrderSimpleQueryDto>> recentOrders = scope.fork(() -> orderSimpleQueryRepository.findRecentOrderDtos(RECENT_ORDERS));
+            Supplier<Map<DeliveryStatus, Long>> deliveryStatusCounts = scope.fork(orderSimpleQueryRepository::countByDeliveryStatus);
+            Supplier<List<ItemListDto>> lowStockItems = scope.fork(() -> itemRepository.findLowStock(LOW_STOCK_THRESHOLD, LOW_STOCK_ITEMS).stream()
+                    .map(ItemListDto::new)
+                    .collect(toList()));
+            scope.join();
+
+            return new DashboardDto(recentOrders.get(), deliveryStatusCounts.get(), lowStockItems.get());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.web.BookForm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 상품 조회 전용 서비스(OSIV OFF) - 화면에 필요한 값만 DTO 로 반환
+ * - 상품 목록은 메모리 카탈로그(ItemCatalog)를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemQueryService {
+
+    private final ItemRepository itemRepository;
+
+    /**
+     * 상품 수정 폼
+     */
+    public BookForm findBookForm(Long itemId) {
+        Item item = itemRepository.findOne(itemId);
+        if (!(item instanceof Book book)) {
+            throw new IllegalArgumentException("수정할 수 없는 상품입니다. itemId=" + itemId);
+        }
+
+        BookForm form = new BookForm();
+        form.setId(book.getId());
+        form.setName(book.getName());
+        form.setPrice(book.getPrice());
+        form.setStockQuantity(book.getStockQuantity());
+        form.setAuthor(book.getAuthor());
+        form.setIsbn(book.getIsbn());
+        return form;
+    }
+}
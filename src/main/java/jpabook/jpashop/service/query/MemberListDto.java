@@ -0,0 +1,18 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import lombok.Data;
+
+@Data
+public class MemberListDto {
+    private final Long id;
+    private final String username;
+    private final Address address;
+
+    public MemberListDto(Member member) {
+        this.id = member.getId();
+        this.username = member.getUsername();
+        this.address = member.getAddress();
+    }
+}
@@ -0,0 +1,27 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 회원 조회 전용 서비스(OSIV OFF) - 화면에 필요한 값만 DTO 로 반환
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MemberQueryService {
+
+    private final MemberRepository memberRepository;
+
+    public List<MemberListDto> findMembers() {
+        return memberRepository.findAll().stream()
+                .map(MemberListDto::new)
+                .collect(toList());
+    }
+}
@@ -26,9 +26,23 @@ public class OrderDto {
         this.orderStatus = order.getStatus();
         this.address = order.getDelivery().getAddress();
 
-        
         this.orderItems = order.getOrderItems().stream()
                 .map(OrderItemDto::new)
                 .collect(toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * 주문상품 종류 수, 주문 금액 합계 - 변환한 orderItems(DTO)로 계산(추가 쿼리 없음)
+     */
+    public int getItemCount() {
+        return orderItems.size();
+    }
+
+    public long getTotalPrice() {
+        long totalPrice = 0;
+        for (OrderItemDto orderItem : orderItems) {
+            totalPrice += (long) orderItem.getOrderPrice() * orderItem.getCount();
+        }
+        return totalPrice;
+    }
+}
@@ -0,0 +1,77 @@
+package jpabook.jpashop.service.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 주문 전체 내보내기(스트리밍)
+ * - 루트(ToOne)는 forward-only 커서로 order_id 순서대로 읽고,
+ * - CHUNK_SIZE 개씩 모아서 orderItem 을 IN 쿼리 한번으로 채운 뒤(V5 방식) 바로 writer 로 넘긴다.
+ * - 청크를 넘길 때마다 영속성 컨텍스트를 비우므로 주문 수와 상관없이 메모리 사용량이 일정하다.
+ * - writer 는 커서가 열려 있는 동안(트랜잭션 안에서) 호출된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderExportService {
+
+    private static final int CHUNK_SIZE = 100; // default_batch_fetch_size 와 동일하게 맞춤
+
+    private final EntityManager em;
+    private final OrderQueryRepository orderQueryRepository;
+
+    /**
+     * @return 내보낸 주문 수
+     */
+    public long exportOrders(Consumer<OrderQueryDto> writer) {
+        long exported = 0;
+        List<OrderQueryDto> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (Stream<OrderQueryDto> orders = orderQueryRepository.streamOrders(CHUNK_SIZE)) {
+            Iterator<OrderQueryDto> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    exported += writeChunk(chunk, writer);
+                }
+            }
+            exported += writeChunk(chunk, writer);
+        }
+
+        return exported;
+    }
+
+    private int writeChunk(List<OrderQueryDto> chunk, Consumer<OrderQueryDto> writer) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> orderIds = new ArrayList<>(chunk.size());
+        for (OrderQueryDto order : chunk) {
+            orderIds.add(order.getOrderId());
+        }
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = orderQueryRepository.findOrderItemMap(orderIds);
+        for (OrderQueryDto order : chunk) {
+            order.setOrderItems(orderItemMap.get(order.getOrderId()));
+            writer.accept(order);
+        }
+
+        int written = chunk.size();
+        chunk.clear();
+        em.clear(); // 청크 단위로 영속성 컨텍스트 정리
+        return written;
+    }
+}
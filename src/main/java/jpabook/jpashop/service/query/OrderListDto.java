@@ -0,0 +1,32 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 화면(order/orderList.html) - 주문 요약(order_summary)의 값만 표시
+ */
+@Data
+public class OrderListDto {
+    private final Long id;
+    private final String memberName;
+    private final int itemCount;
+    private final long totalPrice;
+    private final OrderStatus status;
+    private final DeliveryStatus deliveryStatus;
+    private final LocalDateTime orderDate;
+
+    public OrderListDto(OrderSummary summary) {
+        this.id = summary.getOrderId();
+        this.memberName = summary.getMemberName();
+        this.itemCount = summary.getItemCount();
+        this.totalPrice = summary.getTotalPrice();
+        this.status = summary.getOrderStatus();
+        this.deliveryStatus = summary.getDeliveryStatus();
+        this.orderDate = summary.getOrderDate();
+    }
+}
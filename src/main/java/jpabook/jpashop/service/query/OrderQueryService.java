@@ -1,28 +1,161 @@
 package jpabook.jpashop.service.query;
 
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.repository.order.query.OrderTotalQueryDto;
+import jpabook.jpashop.service.MemberNameIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * 주문 조회 전용 서비스(OSIV OFF)
+ * - 지연 로딩과 DTO 변환을 모두 트랜잭션 안에서 끝내고, 컨트롤러/뷰에는 완성된 DTO 만 넘긴다.
+ * - 트랜잭션이 끝나면 DB 커넥션을 반환하므로 JSON 직렬화, 뷰 렌더링 동안 커넥션을 점유하지 않는다.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class OrderQueryService {
 
+    private static final int MAX_SEARCH_MEMBERS = 100;
+    private static final int MAX_ORDER_LIST = 1000; // 최대 1000건(findAllByString 과 동일)
+
     private final OrderRepository orderRepository;
+    private final OrderQueryRepository orderQueryRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final MemberNameIndex memberNameIndex;
 
-    public List<OrderDto>  disableOsivOrders() {
+    /**
+     * V2 용 - fetch join 없이 주문을 조회하고 DTO 변환 중에 row 마다 지연 로딩(N + 1)
+     */
+    public List<OrderDto> findOrdersWithLazyLoading() {
         List<Order> orders = orderRepository.findAllByString(new OrderSearch());
         List<OrderDto> result = orders.stream().map(order -> new OrderDto(order))
                 .collect(toList());
 
         return result;
     }
+
+    /**
+     * 엔티티 직접 노출(V1)용 - 응답에 필요한 연관관계를 트랜잭션 안에서 초기화해서 반환
+     */
+    public List<Order> findOrderEntities() {
+        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        for (Order order : all) {
+            order.getMember().getUsername(); // LAZY 강제 초기화
+            order.getDelivery().getAddress(); // LAZY 강제 초기화
+            order.getOrderItems().forEach(o -> o.getItem().getName()); // LAZY 강제 초기화
+        }
+        return all;
+    }
+
+    /**
+     * 단순 주문 엔티티 직접 노출(simple-orders V1)용 - member, delivery 만 초기화
+     */
+    public List<Order> findSimpleOrderEntities() {
+        List<Order> all = orderRepository.findAllByString(new OrderSearch());
+        for (Order order : all) {
+            order.getMember().getUsername(); // LAZY 강제 초기화
+            order.getDelivery().getAddress(); // LAZY 강제 초기화
+        }
+        return all;
+    }
+
+    public List<SimpleOrderDto> findSimpleOrders() {
+        return toSimpleOrderDtos(orderRepository.findAllByString(new OrderSearch()));
+    }
+
+    public List<SimpleOrderDto> findSimpleOrdersWithMemberDelivery() {
+        return toSimpleOrderDtos(orderRepository.findWithMemberDelivery());
+    }
+
+    public List<OrderDto> findOrdersWithItem() {
+        return toOrderDtos(orderRepository.findAllWithItem());
+    }
+
+    public List<OrderDto> findOrdersWithMemberDelivery(int offset, int limit) {
+        return toOrderDtos(orderRepository.findAllWithMemberDelivery(offset, limit));
+    }
+
+    public List<OrderDto> findOrdersAfterId(Long lastOrderId, int limit) {
+        return toOrderDtos(orderRepository.findAllWithMemberDeliveryAfterId(lastOrderId, limit));
+    }
+
+    public List<OrderDto> findOrdersAfterOrderDate(LocalDateTime lastOrderDate, Long lastOrderId, int limit) {
+        return toOrderDtos(orderRepository.findAllWithMemberDeliveryAfterOrderDate(lastOrderDate, lastOrderId, limit));
+    }
+
+    /**
+     * V4(1 + N Query)도 한 트랜잭션(커넥션 하나)에서 조회한다.
+     */
+    public List<OrderQueryDto> findOrderQueryDtos() {
+        return orderQueryRepository.findOrderQueryDtos();
+    }
+
+    public List<OrderQueryDto> findOrderQueryDtosOptimized() {
+        return orderQueryRepository.findAllByDto_optimization();
+    }
+
+    /**
+     * V6(플랫 데이터 1 Query) - lastOrderId 다음 주문부터 limit 개
+     */
+    public List<OrderQueryDto> findOrderQueryDtosFlat(Long lastOrderId, int limit) {
+        return orderQueryRepository.findAllByDto_flat(lastOrderId, limit);
+    }
+
+    /**
+     * 주문 목록 화면(/orders) - 주문 요약(order_summary) 한 테이블만 조회
+     * - 회원 이름은 MemberNameIndex 로 회원 id 를 관련도 순으로 찾고 회원 순위 -> 최신 주문 순으로 DB 에서 정렬한다.
+     * - 인덱스가 아직 만들어지지 않았으면 회원 이름 부분 문자열 검색(like '%이름%')을 사용한다.
+     */
+    public List<OrderListDto> findOrderList(OrderSearch orderSearch) {
+        String memberName = orderSearch.getMemberName();
+        OrderStatus status = orderSearch.getOrderStatus();
+        if (!StringUtils.hasText(memberName)) {
+            return toOrderListDtos(orderSummaryRepository.findAll(status, MAX_ORDER_LIST));
+        }
+        if (!memberNameIndex.isReady()) {
+            return toOrderListDtos(orderSummaryRepository.findAllByMemberName(memberName.trim(), status, MAX_ORDER_LIST));
+        }
+
+        List<Long> memberIds = memberNameIndex.search(memberName.trim(), MAX_SEARCH_MEMBERS);
+        if (memberIds.isEmpty()) {
+            return List.of();
+        }
+
+        return toOrderListDtos(orderSummaryRepository.findAllByMemberIds(memberIds, status, MAX_ORDER_LIST));
+    }
+
+    private static List<OrderListDto> toOrderListDtos(List<OrderSummary> summaries) {
+        return summaries.stream().map(OrderListDto::new).collect(toList());
+    }
+
+    /**
+     * 주문 금액 합계는 orderItems 를 초기화하지 않고 DB 집계 쿼리 한번으로 가져온다.
+     */
+    private List<SimpleOrderDto> toSimpleOrderDtos(List<Order> orders) {
+        Map<Long, OrderTotalQueryDto> totalMap = orderQueryRepository.findOrderTotalMap(
+                orders.stream().map(Order::getId).collect(toList()));
+        return orders.stream()
+                .map(order -> new SimpleOrderDto(order, totalMap.getOrDefault(order.getId(), OrderTotalQueryDto.EMPTY)))
+                .collect(toList());
+    }
+
+    private static List<OrderDto> toOrderDtos(List<Order> orders) {
+        return orders.stream().map(OrderDto::new).collect(toList());
+    }
 }
@@ -0,0 +1,181 @@
+package jpabook.jpashop.service.query;
+
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.datasource.ReadYourWrites;
+import jpabook.jpashop.metrics.RequestQueryStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 서로 독립적인 읽기 전용 조회를 동시에 실행(fan-out)
+ * - 조회마다 별도 스레드, 별도 읽기 전용 트랜잭션(별도 커넥션)에서 실행하므로 응답 시간은 합이 아니라 가장 느린 조회 시간이 된다.
+ * - 하나라도 실패하거나 전체 마감 시간(deadline)을 넘기면 나머지 조회는 취소(interrupt)하고 바로 예외를 던진다.
+ * - 트랜잭션 timeout 을 마감 시간에 맞추므로 취소된 조회의 SQL 도 JDBC query timeout 으로 정리된다.
+ * - 조회마다 커넥션을 하나씩 쓰므로 호출하는 쪽은 트랜잭션(커넥션) 없이 호출해야 한다.
+ * - 요청 스레드의 ThreadLocal 중 read-your-writes(primary 고정)와 요청별 SQL 통계는 조회 스레드로 넘겨서 적용한다.
+ *   조회 스레드의 통계는 조회가 끝나면 요청의 통계에 합친다.
+ */
+@Component
+public class ParallelReadExecutor {
+
+    private final PlatformTransactionManager transactionManager;
+    private final Duration defaultDeadline;
+    private final ExecutorService executor;
+
+    public ParallelReadExecutor(PlatformTransactionManager transactionManager,
+                                @Value("${jpashop.query.fan-out-deadline:2s}") Duration defaultDeadline,
+                                @Value("${jpashop.query.fan-out-threads:8}") int threads,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (threads < 1 || defaultDeadline.isNegative() || defaultDeadline.isZero()) {
+            throw new IllegalArgumentException("fan-out-threads 는 1 이상, fan-out-deadline 은 0 보다 커야 합니다.");
+        }
+        this.transactionManager = transactionManager;
+        this.defaultDeadline = defaultDeadline;
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("read-fan-out-", 1).factory())
+                : newExecutor(threads);
+    }
+
+    public ReadScope open() {
+        return open(defaultDeadline);
+    }
+
+    public ReadScope open(Duration deadline) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("트랜잭션 안에서는 동시 조회를 시작할 수 없습니다. 호출하는 쪽의 커넥션까지 점유하게 됩니다.");
+        }
+
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        readOnlyTx.setTimeout((int) Math.max(1, (deadline.toMillis() + 999) / 1000));
+        return new ReadScope(readOnlyTx, System.nanoTime() + deadline.toNanos(), deadline);
+    }
+
+    /**
+     * fork 로 조회를 시작하고 join 으로 모두 끝날 때까지(또는 실패/마감까지) 기다린다.
+     * - try-with-resources 로 사용하면 join 전에 예외가 나도 시작한 조회는 모두 취소된다.
+     */
+    public final class ReadScope implements AutoCloseable {
+
+        private final TransactionTemplate readOnlyTx;
+        private final long deadlineNanos;
+        private final Duration deadline;
+        private final ExecutorCompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        private final List<Future<Object>> futures = new ArrayList<>();
+        private boolean joined;
+
+        private ReadScope(TransactionTemplate readOnlyTx, long deadlineNanos, Duration deadline) {
+            this.readOnlyTx = readOnlyTx;
+            this.deadlineNanos = deadlineNanos;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return join 이 성공한 뒤에만 꺼낼 수 있는 조회 결과
+         */
+        public <T> Supplier<T> fork(Supplier<T> query) {
+            if (joined) {
+                throw new IllegalStateException("join 이후에는 조회를 추가할 수 없습니다.");
+            }
+            boolean primaryForced = ReadYourWrites.isPrimaryForced();
+            RequestQueryStats requestStats = RequestQueryStats.current();
+            Future<Object> future = completion.submit(() -> executeInRequestContext(query, primaryForced, requestStats));
+            futures.add(future);
+            return () -> result(future);
+        }
+
+        /**
+         * @throws TimeoutException 마감 시간 안에 모든 조회가 끝나지 않은 경우(남은 조회는 취소)
+         */
+        public void join() throws TimeoutException, InterruptedException {
+            joined = true;
+            try {
+                for (int done = 0; done < futures.size(); done++) {
+                    Future<Object> future = completion.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (future == null) {
+                        cancelAll();
+                        throw new TimeoutException("동시 조회가 마감 시간(" + deadline.toMillis() + "ms) 안에 끝나지 않았습니다.");
+                    }
+                    if (future.state() == Future.State.FAILED) {
+                        cancelAll();
+                        Throwable cause = future.exceptionNow();
+                        if (cause instanceof RuntimeException e) {
+                            throw e;
+                        }
+                        throw new IllegalStateException("동시 조회에 실패했습니다.", cause);
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        /**
+         * 조회 스레드는 재사용되므로 끝나면 ThreadLocal 을 항상 지운다.
+         */
+        private Object executeInRequestContext(Supplier<?> query, boolean primaryForced, RequestQueryStats requestStats) {
+            if (primaryForced) {
+                ReadYourWrites.forcePrimary();
+            }
+            RequestQueryStats taskStats = requestStats != null ? RequestQueryStats.start() : null;
+            try {
+                return readOnlyTx.execute(status -> query.get());
+            } finally {
+                ReadYourWrites.clear();
+                if (taskStats != null) {
+                    RequestQueryStats.end();
+                    requestStats.merge(taskStats);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<Object> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T result(Future<Object> future) {
+            if (future.state() != Future.State.SUCCESS) {
+                throw new IllegalStateException("join 이 성공한 뒤에만 조회 결과를 꺼낼 수 있습니다.");
+            }
+            return (T) future.resultNow();
+        }
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "read-fan-out-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.service.query;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.order.query.OrderTotalQueryDto;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SimpleOrderDto {
+    private Long orderId;
+    private String name;
+    private LocalDateTime orderDate; //주문시간
+    private OrderStatus orderStatus;
+    private Address address;
+    private int itemCount; // 주문상품 종류 수
+    private long totalPrice; // 주문 금액 합계
+
+    /**
+     * total: DB 에서 집계한 주문별 합계(OrderQueryRepository.findOrderTotalMap) - orderItems 를 로딩하지 않는다.
+     */
+    public SimpleOrderDto(Order order, OrderTotalQueryDto total) {
+        orderId = order.getId();
+        name = order.getMember().getUsername();
+        orderDate = order.getOrderDate();
+        orderStatus = order.getStatus();
+        address = order.getDelivery().getAddress();
+        itemCount = total.getItemCount();
+        totalPrice = total.getTotalPrice();
+    }
+}
@@ -0,0 +1,168 @@
+package jpabook.jpashop.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jpabook.jpashop.datasource.ReadYourWrites;
+import jpabook.jpashop.service.ChangeVersions;
+import jpabook.jpashop.service.ChangeVersions.Aggregate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 주기적으로 다시 조회(polling)하는 목록 API 의 조건부 GET(ETag / If-None-Match)
+ * - ETag 는 응답이 의존하는 집계의 변경 버전(ChangeVersions)으로 만든다.
+ *   응답 본문을 다시 만들어서 해시하는 방식(ShallowEtagHeaderFilter)과 달리 304 응답에 DB 조회, JSON 직렬화가 없다.
+ * - 버전이 같으면 직렬화한 본문(원본, gzip)을 URL(쿼리 스트링 포함)별로 캐시해 두고 그대로 내려준다.
+ * - 캐시가 없으면 조회 전에 읽은 버전으로 저장한다. 조회는 primary 에서 하므로(복제 지연 없음) 본문은 항상 그 버전 이후의 데이터다.
+ * - gzip 본문과 원본은 다른 표현이므로 ETag 도 다르게("-gzip") 주고 Vary: Accept-Encoding 을 붙인다.
+ * - 캐시 크기: jpashop.web.etag.cache-max-bytes(원본 + gzip 바이트 합계)
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    /**
+     * 엔드포인트 -> 응답에 들어가는 데이터의 집계
+     * - 주문 목록에는 회원 이름(V5, V4 simple)과 상품명(V5 주문상품)이 포함된다.
+     */
+    private static final Map<String, Set<Aggregate>> DEPENDENCIES = Map.of(
+            "/api/v5/orders", EnumSet.of(Aggregate.ORDER, Aggregate.MEMBER, Aggregate.ITEM),
+            "/api/v4/simple-orders", EnumSet.of(Aggregate.ORDER, Aggregate.MEMBER),
+            "/api/v2/members", EnumSet.of(Aggregate.MEMBER));
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final ChangeVersions changeVersions;
+    private final Cache<String, CachedBody> bodies;
+
+    public ConditionalGetFilter(ChangeVersions changeVersions,
+                                @Value("${jpashop.web.etag.cache-max-bytes:32MB}") DataSize cacheMaxBytes) {
+        this.changeVersions = changeVersions;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes.toBytes())
+                .weigher((String key, CachedBody body) -> key.length() + body.identity.length + body.gzip.length)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !DEPENDENCIES.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        String version = changeVersions.version(DEPENDENCIES.get(uri)); // 조회 전에 읽는다
+        boolean gzip = acceptsGzip(request);
+        String etag = "\"" + version + (gzip ? GZIP_SUFFIX : "") + "\"";
+
+        if (notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), version)) {
+            writeValidators(response, etag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String key = request.getQueryString() == null ? uri : uri + "?" + request.getQueryString();
+        CachedBody body = bodies.getIfPresent(key);
+        if (body == null || !body.version.equals(version)) {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            ReadYourWrites.forcePrimary();
+            try {
+                filterChain.doFilter(request, wrapper);
+            } finally {
+                ReadYourWrites.clear();
+            }
+
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK) {
+                wrapper.copyBodyToResponse(); // 오류 응답은 캐시하지 않는다
+                return;
+            }
+            byte[] identity = wrapper.getContentAsByteArray();
+            body = new CachedBody(version, wrapper.getContentType(), identity, compress(identity));
+            bodies.put(key, body);
+        }
+
+        writeValidators(response, etag);
+        response.setContentType(body.contentType);
+        byte[] bytes = body.identity;
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = body.gzip;
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private static void writeValidators(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache"); // 클라이언트는 저장하되 매번 If-None-Match 로 확인
+    }
+
+    /**
+     * If-None-Match 의 ETag 중 하나라도 현재 버전이면(원본/gzip 표현 모두) 304
+     */
+    private static boolean notModified(String ifNoneMatch, String version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*")
+                    || value.equals("\"" + version + "\"")
+                    || value.equals("\"" + version + GZIP_SUFFIX + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static byte[] compress(byte[] identity) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, identity.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class CachedBody {
+
+        private final String version;
+        private final String contentType;
+        private final byte[] identity;
+        private final byte[] gzip;
+
+        private CachedBody(String version, String contentType, byte[] identity, byte[] gzip) {
+            this.version = version;
+            this.contentType = contentType;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+    }
+}
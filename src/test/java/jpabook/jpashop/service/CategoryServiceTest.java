@@ -0,0 +1,81 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.CategoryItemQueryDto;
+import jpabook.jpashop.repository.CategoryQueryDto;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class CategoryServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    public void 카테고리_서브트리_조상조회() throws Exception {
+        //given - 도서 > IT > 자바, 도서 > 소설
+        Long books = categoryService.addCategory("도서", null);
+        Long it = categoryService.addCategory("IT", books);
+        Long java = categoryService.addCategory("자바", it);
+        Long novel = categoryService.addCategory("소설", books);
+
+        //when
+        List<CategoryQueryDto> subtree = categoryService.findSubtree(books);
+        List<CategoryQueryDto> ancestors = categoryService.findAncestors(java);
+
+        //then
+        assertEquals("서브트리는 자기 자신과 모든 하위 카테고리를 거리 순으로 조회한다.",
+                List.of(books, it, novel, java), subtree.stream().map(CategoryQueryDto::getId).collect(toList()));
+        assertEquals("하위 카테고리까지의 거리", List.of(0, 1, 1, 2), subtree.stream().map(CategoryQueryDto::getDepth).collect(toList()));
+        assertEquals("조상은 루트부터 자기 자신까지 조회한다.",
+                List.of(books, it, java), ancestors.stream().map(CategoryQueryDto::getId).collect(toList()));
+    }
+
+    @Test
+    public void 카테고리_상품목록_하위카테고리포함_페이징() throws Exception {
+        //given - 상품1은 도서와 IT 양쪽에 속한다.
+        Long books = categoryService.addCategory("도서", null);
+        Long it = categoryService.addCategory("IT", books);
+        Long item1 = createBook("JPA");
+        Long item2 = createBook("SPRING");
+
+        categoryService.addItem(books, item1);
+        categoryService.addItem(it, item1);
+        categoryService.addItem(it, item1); // 이미 있으면 무시
+        categoryService.addItem(it, item2);
+
+        //when
+        List<CategoryItemQueryDto> first = categoryService.findItems(books, null, 1);
+        List<CategoryItemQueryDto> second = categoryService.findItems(books, first.get(0).getId(), 1);
+        List<CategoryItemQueryDto> last = categoryService.findItems(books, second.get(0).getId(), 1);
+
+        //then
+        assertEquals("하위 카테고리 상품까지 상품 id 순서로 조회한다.", item1, first.get(0).getId());
+        assertEquals("여러 하위 카테고리에 속한 상품은 한번만 나온다.", item2, second.get(0).getId());
+        assertEquals("마지막 페이지 다음은 비어 있어야 한다.", 0, last.size());
+        assertEquals("하위 카테고리는 자기 상품만 조회한다.", 2, categoryService.findItems(it, null, 10).size());
+    }
+
+    private Long createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+}
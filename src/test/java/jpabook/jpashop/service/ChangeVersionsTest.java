@@ -0,0 +1,80 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.ChangeVersions.Aggregate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 변경 버전(ETag)과 조건부 GET
+ * - 버전은 커밋 후에 오르므로 테스트 클래스에 @Transactional 을 붙이지 않는다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChangeVersionsTest {
+
+    @Autowired
+    ChangeVersions changeVersions;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void 회원가입_커밋후_회원버전만_증가() throws Exception {
+        //given
+        String memberVersion = changeVersions.version(EnumSet.of(Aggregate.MEMBER));
+        String orderVersion = changeVersions.version(EnumSet.of(Aggregate.ORDER));
+
+        //when
+        memberService.join(newMember("VERSION-"));
+
+        //then
+        assertThat(changeVersions.version(EnumSet.of(Aggregate.MEMBER))).isNotEqualTo(memberVersion);
+        assertThat(changeVersions.version(EnumSet.of(Aggregate.ORDER))).isEqualTo(orderVersion);
+    }
+
+    @Test
+    public void 회원목록_조건부조회() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/api/v2/members"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when, then - 변경이 없으면 304, 회원이 추가되면 새 ETag 로 200
+        mockMvc.perform(get("/api/v2/members").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        memberService.join(newMember("ETAG-"));
+
+        String changed = mockMvc.perform(get("/api/v2/members").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(changed).isNotEqualTo(etag);
+
+        mockMvc.perform(get("/api/v2/members").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", changed.substring(0, changed.length() - 1) + "-gzip\""));
+    }
+
+    private static Member newMember(String prefix) {
+        Member member = new Member();
+        member.setUsername(prefix + System.nanoTime());
+        return member;
+    }
+}
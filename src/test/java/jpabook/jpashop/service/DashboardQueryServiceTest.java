@@ -0,0 +1,36 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.service.query.DashboardDto;
+import jpabook.jpashop.service.query.DashboardQueryService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 조회마다 별도 트랜잭션(별도 커넥션)에서 실행하므로 테스트 클래스에 @Transactional 을 붙이지 않는다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class DashboardQueryServiceTest {
+
+    @Autowired
+    private DashboardQueryService dashboardQueryService;
+
+    @Test
+    public void 대시보드_동시조회() throws Exception {
+        //when
+        DashboardDto dashboard = dashboardQueryService.findDashboard(Duration.ofSeconds(5));
+
+        //then
+        assertEquals("모든 배송 상태의 건수를 내려줘야 한다.", DeliveryStatus.values().length, dashboard.getDeliveryStatusCounts().size());
+        assertTrue("최근 주문은 최대 10건이다.", dashboard.getRecentOrders().size() <= 10);
+    }
+}
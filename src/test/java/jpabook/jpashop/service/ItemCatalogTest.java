@@ -0,0 +1,79 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * 카탈로그는 커밋 후에 갱신되므로 테스트 클래스에 @Transactional 을 붙이지 않는다.
+ * - 갱신은 카탈로그 갱신 스레드에서 비동기로 일어나므로 반영될 때까지 기다린다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ItemCatalogTest {
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    public void 상품등록_수정_주문_카탈로그반영() throws Exception {
+        //given
+        Book book = new Book();
+        book.setName("CATALOG BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        Member member = new Member();
+        member.setUsername("CATALOG-" + System.nanoTime());
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        Long memberId = memberService.join(member);
+
+        //when
+        ItemView saved = await(() -> itemCatalog.find(book.getId()));
+        itemService.updateItem(book.getId(), "CATALOG BOOK 2", 20000, 10);
+        ItemView updated = await(() -> {
+            ItemView item = itemCatalog.find(book.getId());
+            return item != saved ? item : null;
+        });
+        orderService.order(memberId, book.getId(), 3);
+        await(() -> updated.getStockQuantity() == 7 ? updated : null);
+
+        //then
+        assertEquals("등록한 상품은 커밋 후 카탈로그에 들어가야 한다.", "CATALOG BOOK", saved.getName());
+        assertEquals("상품 수정은 새 스냅샷으로 교체되어야 한다.", "CATALOG BOOK 2", updated.getName());
+        assertSame("재고 변경은 스냅샷을 교체하지 않는다.", updated, itemCatalog.find(book.getId()));
+        assertEquals("주문 후 재고가 반영되어야 한다.", 7, updated.getStockQuantity());
+        assertEquals("상품 타입별 목록", "B", updated.getDtype());
+    }
+
+    private static <T> T await(Supplier<T> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        T value;
+        while ((value = condition.get()) == null) {
+            if (System.nanoTime() > deadline) {
+                fail("카탈로그에 5초 안에 반영되지 않았습니다.");
+            }
+            Thread.sleep(10);
+        }
+        return value;
+    }
+}
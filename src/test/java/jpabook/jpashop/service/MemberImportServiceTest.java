@@ -0,0 +1,100 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class MemberImportServiceTest {
+
+    @Autowired
+    MemberImportService memberImportService;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void 회원일괄등록_중복거절() throws Exception {
+        //given
+        Member member = new Member();
+        member.setUsername("IMPORT-EXISTING");
+        memberService.join(member);
+
+        List<MemberImportRow> rows = List.of(
+                new MemberImportRow("IMPORT-A", "서울", "1", "1111"),
+                new MemberImportRow("IMPORT-EXISTING", "서울", "2", "2222"),
+                new MemberImportRow("IMPORT-A", "서울", "3", "3333"),
+                new MemberImportRow("", "서울", "4", "4444"),
+                new MemberImportRow("IMPORT-B", "서울", "5", "5555"));
+
+        //when
+        List<MemberImportResult> results = new ArrayList<>();
+        long accepted = memberImportService.importMembers(rows.iterator(), results::add);
+
+        //then
+        assertEquals("중복이 아닌 회원만 등록되어야 한다.", 2, accepted);
+        assertEquals("입력 한 줄당 결과가 하나씩 있어야 한다.", rows.size(), results.size());
+        assertEquals(MemberImportResult.Status.ACCEPTED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getMemberId());
+        assertEquals("이미 존재하는 회원은 거절", MemberImportResult.Status.REJECTED, results.get(1).getStatus());
+        assertEquals("입력 안에서 중복된 회원은 거절", MemberImportResult.Status.REJECTED, results.get(2).getStatus());
+        assertEquals("이름이 없으면 거절", MemberImportResult.Status.REJECTED, results.get(3).getStatus());
+        assertEquals(5, results.get(4).getRow());
+        assertEquals(1, memberRepository.findByName("IMPORT-A").size());
+    }
+
+    /**
+     * 청크마다 실제로 커밋되도록 테스트 트랜잭션 없이 실행한다.
+     * - 블룸 필터를 거치지 않고 DB 에 저장된 회원 이름이 두 번째 청크에 있으면
+     *   유니크 제약조건 위반 후 청크를 다시 저장해서 그 행만 거절해야 한다.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 회원일괄등록_여러청크_블룸필터에없는중복() throws Exception {
+        //given
+        String prefix = "IMPORT-CHUNK-" + System.nanoTime() + "-";
+        String existingName = prefix + 1500;
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = new Member();
+            member.setUsername(existingName);
+            memberRepository.save(member); // 블룸 필터에 넣지 않는다
+        });
+
+        List<MemberImportRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            rows.add(new MemberImportRow(prefix + i, "서울", "street-" + i, "12345"));
+        }
+
+        //when
+        List<MemberImportResult> results = new ArrayList<>();
+        long accepted = memberImportService.importMembers(rows.iterator(), results::add);
+
+        //then
+        assertEquals("중복 1건을 뺀 나머지는 등록되어야 한다.", rows.size() - 1, accepted);
+        assertEquals("입력 한 줄당 결과가 하나씩 있어야 한다.", rows.size(), results.size());
+        MemberImportResult duplicated = results.get(1499);
+        assertEquals(1500, duplicated.getRow());
+        assertEquals("이미 존재하는 회원은 거절", MemberImportResult.Status.REJECTED, duplicated.getStatus());
+        assertEquals(MemberImportResult.Status.ACCEPTED, results.get(1498).getStatus());
+        assertEquals(MemberImportResult.Status.ACCEPTED, results.get(2499).getStatus());
+        assertEquals(1, memberRepository.findByName(existingName).size());
+    }
+}
@@ -2,14 +2,19 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import jpabook.jpashop.repository.member.query.MemberQueryRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @RunWith(SpringRunner.class)
@@ -24,6 +29,12 @@ public class MemberServiceTest {
     @Autowired
     MemberService memberService;
 
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    MemberNameIndex memberNameIndex;
+
     @Test
     public void 회원가입() throws Exception {
         //given
@@ -55,4 +66,51 @@ public class MemberServiceTest {
         fail("예외 발생");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback
+    public void 회원이름_prefix검색_와일드카드_escape() throws Exception {
+        //given
+        for (String username : new String[]{"PREFIX_100%", "PREFIX_1002", "PREFIXA100", "PREFIX!B"}) {
+            Member member = new Member();
+            member.setUsername(username);
+            memberService.join(member);
+        }
+
+        //when - 검색어의 _, %, ! 는 와일드카드가 아니라 문자 그대로 비교
+        List<MemberQueryDto> underscore = memberQueryRepository.findByUsernamePrefix("PREFIX_", 10);
+        List<MemberQueryDto> percent = memberQueryRepository.findByUsernamePrefix("PREFIX_100%", 10);
+        List<MemberQueryDto> escape = memberQueryRepository.findByUsernamePrefix("PREFIX!", 10);
+        List<MemberQueryDto> limited = memberQueryRepository.findByUsernamePrefix("PREFIX", 2);
+
+        //then
+        assertThat(underscore).extracting(MemberQueryDto::getName).containsExactly("PREFIX_100%", "PREFIX_1002");
+        assertThat(percent).extracting(MemberQueryDto::getName).containsExactly("PREFIX_100%");
+        assertThat(escape).extracting(MemberQueryDto::getName).containsExactly("PREFIX!B");
+        assertThat(limited).hasSize(2);
+    }
+
+    /**
+     * 회원 등록이 커밋되어야 인덱스에 반영되므로(MemberChangedEvent) 테스트 트랜잭션 없이 실행한다.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 회원이름_인덱스_짧은검색어_상위N() throws Exception {
+        //given
+        for (String username : new String[]{"B龘", "龘", "龘龘C", "龘A", "A龘B"}) {
+            Member member = new Member();
+            member.setUsername(username);
+            memberService.join(member);
+        }
+        Long exact = memberRepository.findByName("龘").get(0).getId();
+        Long startsWith = memberRepository.findByName("龘A").get(0).getId();
+
+        //when
+        List<Long> oneChar = memberNameIndex.search("龘", 2);
+        List<Long> twoChars = memberNameIndex.search("龘a", 10);
+
+        //then - 이름이 같은 회원, keyword 로 시작하는 회원(짧은 이름 먼저) 순서
+        assertThat(oneChar).containsExactly(exact, startsWith);
+        assertThat(twoChars).containsExactly(startsWith);
+    }
+}
@@ -0,0 +1,107 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 동시 주문 재고 차감 테스트
+ * - 스레드마다 별도 트랜잭션으로 주문해야 하므로 테스트 클래스에 @Transactional 을 붙이지 않는다.
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class OrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 20;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    public void 동시주문_재고차감() throws Exception {
+        //given
+        int stockQuantity = 100;
+        Long memberId = createMember();
+        Long itemId = createBook(stockQuantity);
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger notEnoughStock = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //when - 한 상품에 재고보다 많은 주문(1개씩)이 동시에 들어온다
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+                    try {
+                        orderService.order(memberId, itemId, 1);
+                        success.incrementAndGet();
+                    } catch (NotEnoughStockException e) {
+                        notEnoughStock.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        //then
+        int attempts = THREADS * ORDERS_PER_THREAD;
+        assertEquals("재고 수량만큼만 주문이 성공해야 한다.", stockQuantity, success.get());
+        assertEquals("나머지 주문은 재고 부족으로 실패해야 한다.", attempts - stockQuantity, notEnoughStock.get());
+        assertEquals("재고는 음수가 되지 않고 정확히 0이어야 한다.", 0, itemService.findItem(itemId).getStockQuantity());
+
+        log.info("동시 주문 {}건(스레드 {}개), {} ms, {} 주문 시도/s", attempts, THREADS,
+                String.format("%.1f", elapsedNanos / 1_000_000.0),
+                String.format("%.0f", attempts / (elapsedNanos / 1_000_000_000.0)));
+    }
+
+    private Long createMember() {
+        Member member = new Member();
+        member.setUsername("CONCURRENCY-" + System.nanoTime());
+        member.setAddress(new Address("서울", "노원", "123-123"));
+        return memberService.join(member);
+    }
+
+    private Long createBook(int stockQuantity) {
+        Book book = new Book();
+        book.setName("HOT ITEM");
+        book.setPrice(10000);
+        book.setStockQuantity(stockQuantity);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+}
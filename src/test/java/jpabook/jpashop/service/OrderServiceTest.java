@@ -5,11 +5,15 @@ import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.domain.OrderSummary;
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSummaryRepository;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.repository.order.query.OrderTotalQueryDto;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +21,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 @RunWith(SpringRunner.class)
@@ -34,6 +42,10 @@ public class OrderServiceTest {
     @Autowired
     private ItemRepository itemRepository;
     @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+    @Autowired
+    private OrderQueryRepository orderQueryRepository;
+    @Autowired
     private ItemService itemService;
 
     @Test
@@ -90,9 +102,117 @@ public class OrderServiceTest {
         assertEquals("주문이 취소된 상품은 그만큼 재고가 증가해야 한다.", 10, item.getStockQuantity());
     }
 
+    @Test
+    public void 장바구니주문() throws Exception {
+        //given
+        Member member = createMember();
+        Item item1 = createBook("JPA1", 10, 10000);
+        Item item2 = createBook("JPA2", 20, 20000);
+        em.flush();
+        em.clear();
+
+        //when
+        Long orderId = orderService.order(member.getId(), Map.of(item1.getId(), 2, item2.getId(), 3));
+
+        //then
+        Order order = orderRepository.findOne(orderId);
+
+        assertEquals("상품 주문시 상태는 ORDER", OrderStatus.ORDER, order.getStatus());
+        assertEquals("주문 1건에 주문한 상품 종류 수만큼 주문상품이 생성되어야 한다.", 2, order.getOrderItems().size());
+        assertEquals("주문 가격은 상품별 가격 * 수량의 합이다.", 10000 * 2 + 20000 * 3, order.getTotalPrice());
+        assertEquals("주문 수량만큼 재고가 줄어들어야 한다.", 8, itemRepository.findOne(item1.getId()).getStockQuantity());
+        assertEquals("주문 수량만큼 재고가 줄어들어야 한다.", 17, itemRepository.findOne(item2.getId()).getStockQuantity());
+    }
+
+    @Test(expected = NotEnoughStockException.class)
+    public void 장바구니주문_재고수량초과() throws Exception {
+        //given
+        Member member = createMember();
+        Item item1 = createBook("JPA1", 10, 10000);
+        Item item2 = createBook("JPA2", 1, 20000);
+
+        //when
+        orderService.order(member.getId(), Map.of(item1.getId(), 2, item2.getId(), 3));
+
+        //then
+        fail("재고 수량 부족 예외가 발생해야 한다.");
+    }
+
+    @Test
+    public void 장바구니주문_없는상품() throws Exception {
+        //given
+        Member member = createMember();
+        Item item = createBook("JPA1", 10, 10000);
+
+        //when
+        try {
+            orderService.order(member.getId(), Map.of(item.getId(), 1, -1L, 1));
+            fail("없는 상품이면 예외가 발생해야 한다.");
+        } catch (IllegalArgumentException e) {
+            //then
+            assertTrue("없는 상품 id 를 알려줘야 한다.", e.getMessage().contains("-1"));
+        }
+        assertEquals("예외가 발생하면 재고가 차감되지 않아야 한다.", 10, item.getStockQuantity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 장바구니주문_수량0() throws Exception {
+        //given
+        Member member = createMember();
+        Item item = createBook("JPA1", 10, 10000);
+
+        //when
+        orderService.order(member.getId(), Map.of(item.getId(), 0));
+
+        //then
+        fail("주문 수량이 1 미만이면 예외가 발생해야 한다.");
+    }
+
+    @Test
+    public void 주문요약_갱신() throws Exception {
+        //given
+        Member member = createMember();
+        Item item1 = createBook("JPA1", 10, 10000);
+        Item item2 = createBook("JPA2", 20, 20000);
+        Long orderId = orderService.order(member.getId(), Map.of(item1.getId(), 2, item2.getId(), 3));
+
+        //when
+        orderService.cancelOrder(orderId);
+        em.flush();
+        em.clear();
+
+        //then
+        OrderSummary summary = orderSummaryRepository.findOne(orderId);
+
+        assertEquals("주문 요약은 주문과 같은 트랜잭션에서 저장되어야 한다.", member.getUsername(), summary.getMemberName());
+        assertEquals("주문 요약의 상품 종류 수", 2, summary.getItemCount());
+        assertEquals("주문 요약의 금액은 상품별 가격 * 수량의 합이다.", 10000L * 2 + 20000L * 3, summary.getTotalPrice());
+        assertEquals("주문 취소시 주문 요약의 상태도 CANCEL이다.", OrderStatus.CANCLE, summary.getOrderStatus());
+    }
+
+    @Test
+    public void 주문금액_집계_int범위초과() throws Exception {
+        //given - 가격 * 수량이 int 범위(약 21억)를 넘는 주문
+        Member member = createMember();
+        Item item1 = createBook("B2B1", 10, 1_000_000_000);
+        Item item2 = createBook("B2B2", 10, 2_000_000_000);
+        Long orderId = orderService.order(member.getId(), Map.of(item1.getId(), 3, item2.getId(), 2));
+        em.flush();
+        em.clear();
+
+        //when
+        OrderTotalQueryDto total = orderQueryRepository.findOrderTotalMap(List.of(orderId)).get(orderId);
+
+        //then
+        long expected = 1_000_000_000L * 3 + 2_000_000_000L * 2;
+        assertEquals("DB 집계 금액은 long 으로 계산해야 한다.", expected, total.getTotalPrice());
+        assertEquals("DB 집계 상품 종류 수", 2, total.getItemCount());
+        assertEquals("엔티티 금액 계산도 overflow 가 나지 않아야 한다.", expected, orderRepository.findOne(orderId).getTotalPrice());
+    }
+
     private Member createMember() {
         Member member = new Member();
-        member.setUsername("USER");
+        member.setUsername("ORDER-USER"); // username 유니크 제약조건 - MemberServiceTest 가 커밋한 "USER" 와 겹치지 않게
         member.setAddress(new Address("서울", "노원", "123-123"));
         em.persist(member);
 